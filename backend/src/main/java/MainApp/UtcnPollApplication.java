@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "repository")
 @EntityScan(basePackages = "models")
 @ComponentScan(basePackages = {"controller", "service", "repository", "models", "security", "utils"})
+@EnableScheduling
 public class UtcnPollApplication {
     public static void main(String[] args) {
         SpringApplication.run(UtcnPollApplication.class, args);
@@ -2,8 +2,16 @@ package controller;
 
 import models.Achievement;
 import models.ResultError;
+import models.User;
+import models.UserAchievement;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import repository.UserRepository;
+import service.AchievementBackfill;
+import service.AchievementCatalog;
 import service.AchievementService;
 
 import java.util.List;
@@ -15,14 +23,30 @@ import java.util.Optional;
 public class AchievementController {
 
     private final AchievementService achievementService;
+    private final AchievementCatalog achievementCatalog;
+    private final AchievementBackfill achievementBackfill;
+    private final UserRepository userRepository;
 
-    public AchievementController(AchievementService achievementService) {
+    public AchievementController(AchievementService achievementService, AchievementCatalog achievementCatalog,
+                                 AchievementBackfill achievementBackfill, UserRepository userRepository) {
         this.achievementService = achievementService;
+        this.achievementCatalog = achievementCatalog;
+        this.achievementBackfill = achievementBackfill;
+        this.userRepository = userRepository;
     }
 
     @GetMapping
-    public ResponseEntity<List<Achievement>> getAllAchievements() {
-        return ResponseEntity.ok(achievementService.getAllAchievements());
+    public ResponseEntity<byte[]> getAllAchievements(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        AchievementCatalog.Body body = achievementCatalog.body();
+        if (matchesETag(ifNoneMatch, body.etag())) {
+            return ResponseEntity.status(304).eTag(body.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.json());
     }
 
     @GetMapping("/{id}")
@@ -46,4 +70,78 @@ public class AchievementController {
     public ResponseEntity<ResultError> deleteAchievement(@PathVariable int id) {
         return ResponseEntity.ok(achievementService.deleteAchievement(id));
     }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<UserAchievement>> getUserAchievements(@PathVariable int userId) {
+        return ResponseEntity.ok(achievementService.getUserAchievements(userId));
+    }
+
+    @PostMapping("/{id}/award/{userId}")
+    public ResponseEntity<ResultError> awardAchievement(@PathVariable int id, @PathVariable int userId,
+                                                        Authentication auth) {
+        ResponseEntity<ResultError> denied = requireAdmin(auth);
+        if (denied != null) return denied;
+        return ResponseEntity.ok(achievementService.awardAchievement(userId, id));
+    }
+
+    @DeleteMapping("/{id}/award/{userId}")
+    public ResponseEntity<ResultError> revokeAchievement(@PathVariable int id, @PathVariable int userId,
+                                                         Authentication auth) {
+        ResponseEntity<ResultError> denied = requireAdmin(auth);
+        if (denied != null) return denied;
+        return ResponseEntity.ok(achievementService.revokeAchievement(userId, id));
+    }
+
+    @PostMapping("/{id}/backfill")
+    public ResponseEntity<ResultError> startBackfill(@PathVariable int id, Authentication auth) {
+        ResponseEntity<ResultError> denied = requireAdmin(auth);
+        if (denied != null) return denied;
+        if (achievementCatalog.get(id).isEmpty()) {
+            return ResponseEntity.status(404).body(new ResultError(false, "Achievement not found"));
+        }
+
+        ResultError result = achievementBackfill.start(id);
+        return result.isSuccess() ? ResponseEntity.accepted().body(result) : ResponseEntity.status(409).body(result);
+    }
+
+    @GetMapping("/backfill")
+    public ResponseEntity<?> getBackfillStatus() {
+        return achievementBackfill.getStatus().<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(new ResultError(false, "No backfill has run")));
+    }
+
+    @DeleteMapping("/backfill")
+    public ResponseEntity<ResultError> cancelBackfill(Authentication auth) {
+        ResponseEntity<ResultError> denied = requireAdmin(auth);
+        if (denied != null) return denied;
+
+        ResultError result = achievementBackfill.cancel();
+        return result.isSuccess() ? ResponseEntity.ok(result) : ResponseEntity.status(409).body(result);
+    }
+
+    private ResponseEntity<ResultError> requireAdmin(Authentication auth) {
+        if (auth == null) {
+            return ResponseEntity.status(401).body(new ResultError(false, "Unauthorized"));
+        }
+
+        Optional<User> userOpt = userRepository.findByEmail(auth.getName());
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(401).body(new ResultError(false, "User not found"));
+        }
+        if (!"ADMIN".equals(userOpt.get().getUserType())) {
+            return ResponseEntity.status(403).body(new ResultError(false, "Only admins can run achievement backfills"));
+        }
+        return null;
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
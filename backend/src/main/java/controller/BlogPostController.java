@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
 import repository.UserRepository;
+import service.BlogFeedService;
 import service.BlogPostService;
 
 import java.util.List;
@@ -19,10 +20,13 @@ import java.util.Optional;
 public class BlogPostController {
 
     private final BlogPostService blogPostService;
+    private final BlogFeedService blogFeedService;
     private final UserRepository userRepository;
 
-    public BlogPostController(BlogPostService blogPostService, UserRepository userRepository) {
+    public BlogPostController(BlogPostService blogPostService, BlogFeedService blogFeedService,
+                              UserRepository userRepository) {
         this.blogPostService = blogPostService;
+        this.blogFeedService = blogFeedService;
         this.userRepository = userRepository;
     }
 
@@ -31,6 +35,17 @@ public class BlogPostController {
         return ResponseEntity.ok(blogPostService.getAllPosts());
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(blogFeedService.listPosts(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResultError(false, e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getPostById(@PathVariable int id) {
         Optional<BlogPost> post = blogPostService.getPostById(id);
@@ -1,13 +1,16 @@
 package controller;
 
 import models.Achievement;
-import models.User;
+import models.LeaderboardEntry;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import service.LeaderboardService;
+import service.LeaderboardSnapshots;
+import service.WindowedLeaderboard;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/leaderboard")
@@ -15,17 +18,35 @@ import java.util.Map;
 public class LeaderboardController {
 
     private final LeaderboardService leaderboardService;
+    private final LeaderboardSnapshots leaderboardSnapshots;
+    private final WindowedLeaderboard windowedLeaderboard;
 
-    public LeaderboardController(LeaderboardService leaderboardService) {
+    public LeaderboardController(LeaderboardService leaderboardService, LeaderboardSnapshots leaderboardSnapshots,
+                                 WindowedLeaderboard windowedLeaderboard) {
         this.leaderboardService = leaderboardService;
+        this.leaderboardSnapshots = leaderboardSnapshots;
+        this.windowedLeaderboard = windowedLeaderboard;
     }
 
     @GetMapping("/points")
-    public ResponseEntity<List<User>> getPointsLeaderboard(
+    public ResponseEntity<List<LeaderboardEntry>> getPointsLeaderboard(
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(leaderboardService.getPointsLeaderboard(limit));
     }
 
+    @GetMapping("/points/{window}")
+    public ResponseEntity<?> getWindowedPointsLeaderboard(
+            @PathVariable String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        WindowedLeaderboard.Window parsed;
+        try {
+            parsed = WindowedLeaderboard.Window.from(window);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid window: " + window);
+        }
+        return ResponseEntity.ok(windowedLeaderboard.top(parsed, limit));
+    }
+
     @GetMapping("/achievements")
     public ResponseEntity<List<Map<String, Object>>> getAchievementsLeaderboard(
             @RequestParam(defaultValue = "10") int limit) {
@@ -54,6 +75,12 @@ public class LeaderboardController {
         return ResponseEntity.ok(rank);
     }
 
+    @GetMapping("/user/{userId}/percentile")
+    public ResponseEntity<?> getUserPercentile(@PathVariable int userId) {
+        return leaderboardService.getUserPercentile(userId).<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/user/{userId}/achievements-rank")
     public ResponseEntity<Integer> getUserAchievementsRank(@PathVariable int userId) {
         int rank = leaderboardService.getUserAchievementsRank(userId);
@@ -63,6 +90,17 @@ public class LeaderboardController {
         return ResponseEntity.ok(rank);
     }
 
+    @PostMapping("/ranks")
+    public ResponseEntity<?> getUserRanks(@RequestBody List<Integer> userIds) {
+        if (userIds == null || userIds.isEmpty() || userIds.contains(null)) {
+            return ResponseEntity.badRequest().body("At least one user id is required");
+        }
+        if (userIds.size() > LeaderboardService.MAX_BATCH_RANKS) {
+            return ResponseEntity.badRequest().body("At most " + LeaderboardService.MAX_BATCH_RANKS + " user ids per request");
+        }
+        return ResponseEntity.ok(leaderboardService.getUserRanks(userIds));
+    }
+
     @GetMapping("/user/{userId}/context")
     public ResponseEntity<Map<String, Object>> getUserLeaderboardContext(
             @PathVariable int userId,
@@ -86,4 +124,24 @@ public class LeaderboardController {
 
         return ResponseEntity.ok(overview);
     }
+
+    @GetMapping("/snapshots")
+    public ResponseEntity<List<Map<String, Object>>> getSnapshotVersions() {
+        return ResponseEntity.ok(leaderboardSnapshots.listVersions());
+    }
+
+    @GetMapping("/snapshots/diff")
+    public ResponseEntity<?> getSnapshotDiff(
+            @RequestParam long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean changedOnly) {
+        Optional<Map<String, Object>> diff = userId != null
+                ? leaderboardSnapshots.diffUser(from, to, userId)
+                : leaderboardSnapshots.diffTop(from, to, limit, changedOnly);
+
+        return diff.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body("Snapshot version not available"));
+    }
 }
\ No newline at end of file
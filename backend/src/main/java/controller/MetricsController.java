@@ -0,0 +1,69 @@
+package controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import service.AchievementEngine;
+import service.ActivityCounterStore;
+import service.HotPollRouter;
+import service.PointsLeaderboard;
+import service.PollStreamService;
+import service.VoteIngestionPipeline;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    private final VoteIngestionPipeline voteIngestionPipeline;
+    private final PollStreamService pollStreamService;
+    private final HotPollRouter hotPollRouter;
+    private final PointsLeaderboard pointsLeaderboard;
+    private final AchievementEngine achievementEngine;
+    private final ActivityCounterStore activityCounterStore;
+
+    public MetricsController(VoteIngestionPipeline voteIngestionPipeline,
+                             PollStreamService pollStreamService,
+                             HotPollRouter hotPollRouter,
+                             PointsLeaderboard pointsLeaderboard,
+                             AchievementEngine achievementEngine,
+                             ActivityCounterStore activityCounterStore) {
+        this.voteIngestionPipeline = voteIngestionPipeline;
+        this.pollStreamService = pollStreamService;
+        this.hotPollRouter = hotPollRouter;
+        this.pointsLeaderboard = pointsLeaderboard;
+        this.achievementEngine = achievementEngine;
+        this.activityCounterStore = activityCounterStore;
+    }
+
+    @GetMapping("/vote-ingestion")
+    public ResponseEntity<Map<String, Object>> getVoteIngestionMetrics() {
+        return ResponseEntity.ok(voteIngestionPipeline.getStats());
+    }
+
+    @GetMapping("/poll-stream")
+    public ResponseEntity<Map<String, Object>> getPollStreamMetrics() {
+        return ResponseEntity.ok(pollStreamService.getStats());
+    }
+
+    @GetMapping("/hot-polls")
+    public ResponseEntity<Map<String, Object>> getHotPollMetrics() {
+        return ResponseEntity.ok(hotPollRouter.getStats());
+    }
+
+    @GetMapping("/points-leaderboard")
+    public ResponseEntity<Map<String, Object>> getPointsLeaderboardMetrics() {
+        return ResponseEntity.ok(pointsLeaderboard.getStats());
+    }
+
+    @GetMapping("/achievement-engine")
+    public ResponseEntity<Map<String, Object>> getAchievementEngineMetrics() {
+        return ResponseEntity.ok(achievementEngine.getStats());
+    }
+
+    @GetMapping("/activity-counters")
+    public ResponseEntity<Map<String, Object>> getActivityCounterMetrics() {
+        return ResponseEntity.ok(activityCounterStore.getStats());
+    }
+}
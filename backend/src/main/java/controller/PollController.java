@@ -2,13 +2,20 @@ package controller;
 
 import models.Poll;
 import models.PollDTO;
+import models.PollResolutionJob;
+import models.PollResults;
 import models.ResultError;
 import models.User;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import repository.UserRepository;
+import service.PollListingService;
 import service.PollService;
+import service.PollStreamService;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,60 +25,81 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class PollController {
 
+    private static final int MAX_STREAMED_POLLS = 50;
+
     private final PollService pollService;
+    private final PollListingService pollListingService;
+    private final PollStreamService pollStreamService;
     private final UserRepository userRepository;
 
-    public PollController(PollService pollService, UserRepository userRepository) {
+    public PollController(PollService pollService,
+                          PollListingService pollListingService,
+                          PollStreamService pollStreamService,
+                          UserRepository userRepository) {
         this.pollService = pollService;
+        this.pollListingService = pollListingService;
+        this.pollStreamService = pollStreamService;
         this.userRepository = userRepository;
     }
 
+    // Deprecated in favour of GET /api/polls/page; still returns every poll for clients that have not moved yet.
     @GetMapping
     public ResponseEntity<?> getAllPolls(Authentication auth) {
 
         try {
-            List<Poll> polls = pollService.getAllPolls();
-
-            Integer currentUserId = null;
+            return ResponseEntity.ok()
+                    .header("Deprecation", "true")
+                    .header("Link", "</api/polls/page>; rel=\"successor-version\"")
+                    .body(pollListingService.listAll(currentUserId(auth)));
 
-            if (auth != null) {
-                String email = auth.getName();
-                Optional<User> userOpt = userRepository.findByEmail(email);
-                if (userOpt.isPresent()) {
-                    currentUserId = userOpt.get().getId();
-                }
-            }
+        } catch (Exception e) {
+            System.err.println("[BACKEND] Error fetching polls: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(new ResultError(false, "Error fetching polls: " + e.getMessage()));
+        }
+    }
 
-            List<Map<String, Object>> pollsWithVoteInfo = new ArrayList<>();
-
-            for (Poll poll : polls) {
-                Map<String, Object> pollData = new HashMap<>();
-                pollData.put("id", poll.getId());
-                pollData.put("title", poll.getTitle());
-                pollData.put("description", poll.getDescription());
-                pollData.put("date", poll.getDate());
-                pollData.put("endDate", poll.getEndDate());
-                pollData.put("options", poll.getOptions());
-                pollData.put("expired", poll.isExpired());
-                pollData.put("creatorId", poll.getCreatorId());
-                pollData.put("creatorName", poll.getCreatorName());
-                pollData.put("creatorAvatar", poll.getCreatorAvatar());
-                pollData.put("resolved", poll.getResolvedStatus());
-
-                pollData.put("userVotedOptionIds", poll.getUserVotedOptionIds(currentUserId));
-                pollData.put("winningOptionId", poll.getWinningOption());
-                pollsWithVoteInfo.add(pollData);
-            }
+    @GetMapping("/page")
+    public ResponseEntity<?> getPollPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "all") String status,
+            Authentication auth) {
 
-            return ResponseEntity.ok(pollsWithVoteInfo);
+        PollListingService.StatusFilter filter;
+        try {
+            filter = PollListingService.StatusFilter.from(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResultError(false, "Invalid status filter: " + status));
+        }
 
+        try {
+            return ResponseEntity.ok(pollListingService.listPolls(cursor, limit, filter, currentUserId(auth)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResultError(false, e.getMessage()));
         } catch (Exception e) {
-            System.err.println("[BACKEND] Error fetching polls: " + e.getMessage());
+            System.err.println("[BACKEND] Error fetching poll page: " + e.getMessage());
             e.printStackTrace();
             return ResponseEntity.status(500).body(new ResultError(false, "Error fetching polls: " + e.getMessage()));
         }
     }
 
+    @GetMapping(value = "/{pollId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPoll(@PathVariable int pollId) {
+        if (pollService.getResultsSnapshot(pollId).isEmpty()) {
+            return ResponseEntity.status(404).build();
+        }
+        return ResponseEntity.ok(pollStreamService.subscribe(List.of(pollId)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPolls(@RequestParam List<Integer> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_STREAMED_POLLS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(pollStreamService.subscribe(ids));
+    }
+
     @PostMapping("/{pollId}/resolve")
     public ResponseEntity<?> resolvePoll(
             @PathVariable int pollId,
@@ -99,7 +127,7 @@ public class PollController {
             ResultError result = pollService.resolvePoll(pollId, request.winningOptionId());
 
             if (result.isSuccess()) {
-                return ResponseEntity.ok(result);
+                return ResponseEntity.accepted().body(result);
             }
             return ResponseEntity.badRequest().body(result);
 
@@ -110,18 +138,46 @@ public class PollController {
         }
     }
 
+    @GetMapping("/{pollId}/resolution")
+    public ResponseEntity<?> getResolutionStatus(@PathVariable int pollId) {
+        Optional<PollResolutionJob> job = pollService.getResolutionJob(pollId);
+        return job.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(new ResultError(false, "Poll resolution not started")));
+    }
+
     @GetMapping("/active")
-    public ResponseEntity<List<Poll>> getActivePolls() {
-        return ResponseEntity.ok(pollService.getActivePolls());
+    public ResponseEntity<List<Map<String, Object>>> getActivePolls(Authentication auth) {
+        return ResponseEntity.ok(pollListingService.listActive(currentUserId(auth)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getPollById(@PathVariable int id) {
-        Optional<Poll> poll = pollService.getPollById(id);
+    public ResponseEntity<Object> getPollById(@PathVariable int id, Authentication auth) {
+        Optional<Map<String, Object>> poll = pollListingService.getPoll(id, currentUserId(auth));
         return poll.<ResponseEntity<Object>>map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.status(404).body("Poll not found"));
     }
 
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<?> rebuildSummaries(Authentication auth) {
+        if (auth == null) {
+            return ResponseEntity.status(401).body(new ResultError(false, "Unauthorized"));
+        }
+
+        Optional<User> userOpt = userRepository.findByEmail(auth.getName());
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.status(401).body(new ResultError(false, "User not found"));
+        }
+        if (!"ADMIN".equals(userOpt.get().getUserType())) {
+            return ResponseEntity.status(403).body(new ResultError(false, "Only admins can rebuild poll summaries"));
+        }
+
+        try {
+            return ResponseEntity.ok(pollService.rebuildSummaries());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(new ResultError(false, e.getMessage()));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createPoll(@RequestBody Poll poll, Authentication auth) {
         if (auth == null) {
@@ -240,13 +296,39 @@ public class PollController {
     }
 
     @GetMapping("/{pollId}/results")
-    public ResponseEntity<Map<String, Double>> getResults(@PathVariable int pollId) {
-        Optional<Poll> pollOpt = pollService.getPollById(pollId);
-        if (pollOpt.isEmpty()) {
+    public ResponseEntity<Map<String, Double>> getResults(
+            @PathVariable int pollId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Optional<PollResults> resultsOpt = pollService.getResultsSnapshot(pollId);
+        if (resultsOpt.isEmpty()) {
             return ResponseEntity.status(404).build();
         }
-        Map<String, Double> results = pollOpt.get().calculateResults();
-        return ResponseEntity.ok(results);
+
+        PollResults results = resultsOpt.get();
+        String etag = pollService.getResultsETag(results);
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(results.getPercentages());
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private Integer currentUserId(Authentication auth) {
+        if (auth == null) return null;
+        return userRepository.findByEmail(auth.getName()).map(User::getId).orElse(null);
     }
 
     public record VoteRequest(int optionId, int betAmount) {}
@@ -4,6 +4,7 @@ import models.ResultError;
 import models.User;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import service.ActivityCounterStore;
 import service.UserService;
 
 import java.time.LocalDate;
@@ -14,9 +15,11 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final ActivityCounterStore activityCounterStore;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ActivityCounterStore activityCounterStore) {
         this.userService = userService;
+        this.activityCounterStore = activityCounterStore;
     }
 
     @PostMapping("/register")
@@ -69,6 +72,14 @@ public class UserController {
                 .orElseGet(() -> ResponseEntity.status(404).body("User not found"));
     }
 
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<Object> getUserActivity(@PathVariable int id) {
+        if (userService.getUserById(id).isEmpty()) {
+            return ResponseEntity.status(404).body("User not found");
+        }
+        return ResponseEntity.ok(activityCounterStore.get(id));
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<Object> getUserByEmail(@PathVariable String email) {
         Optional<User> userOpt = userService.getUserByEmail(email);
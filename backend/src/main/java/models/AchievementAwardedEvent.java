@@ -0,0 +1,4 @@
+package models;
+
+public record AchievementAwardedEvent(int userId, int achievementId, Achievement.AchievementType type,
+                                      Achievement.BadgeTier tier) {}
@@ -0,0 +1,4 @@
+package models;
+
+public record AchievementRevokedEvent(int userId, int achievementId, Achievement.AchievementType type,
+                                      Achievement.BadgeTier tier) {}
@@ -0,0 +1,3 @@
+package models;
+
+public record AchievementsChangedEvent(int achievementId) {}
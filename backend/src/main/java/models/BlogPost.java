@@ -8,9 +8,13 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "blog_posts")
+@Table(name = "blog_posts", indexes = {
+        @Index(name = "idx_blog_posts_created_at_id", columnList = "created_at, id")
+})
 public class BlogPost {
 
+    public static final int EXCERPT_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
@@ -28,11 +32,36 @@ public class BlogPost {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(length = EXCERPT_LENGTH + 3)
+    private String excerpt;
+
+    // Feed counters, moved only by BlogPostRepository's atomic adjust queries so entity saves never overwrite them.
+    @Column(name = "like_count", updatable = false)
+    private Integer likeCount = 0;
+
+    @Column(name = "comment_count", updatable = false)
+    private Integer commentCount = 0;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) createdAt = LocalDateTime.now();
         if (title == null) title = "";
         if (content == null) content = "";
+        excerpt = excerptOf(content);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        excerpt = excerptOf(content);
+    }
+
+    public static String excerptOf(String content) {
+        if (content == null) return "";
+        String text = content.strip().replaceAll("\\s+", " ");
+        if (text.length() <= EXCERPT_LENGTH) return text;
+
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > EXCERPT_LENGTH / 2 ? cut : EXCERPT_LENGTH) + "...";
     }
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
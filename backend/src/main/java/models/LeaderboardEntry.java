@@ -0,0 +1,3 @@
+package models;
+
+public record LeaderboardEntry(int id, String name, int points) {}
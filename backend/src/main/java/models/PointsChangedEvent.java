@@ -0,0 +1,3 @@
+package models;
+
+public record PointsChangedEvent(int userId, int delta) {}
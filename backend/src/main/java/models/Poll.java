@@ -10,7 +10,9 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "polls")
+@Table(name = "polls", indexes = {
+        @Index(name = "idx_polls_end_date_id", columnList = "end_date, id")
+})
 public class Poll {
 
     @Id
@@ -43,6 +45,12 @@ public class Poll {
     @Column(name = "resolved")
     private boolean resolved = false;
 
+    @Column(name = "closed")
+    private boolean closed = false;
+
+    @Transient
+    private List<Integer> userVotedOptionIds = new ArrayList<>();
+
     public Poll() {
         this.date = LocalDateTime.now();
     }
@@ -112,7 +120,15 @@ public class Poll {
     }
 
     public boolean isExpired() {
-        return LocalDateTime.now().isAfter(endDate);
+        return closed || LocalDateTime.now().isAfter(endDate);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void setClosed(boolean closed) {
+        this.closed = closed;
     }
 
     public void setCreator(User creator) {
@@ -130,18 +146,12 @@ public class Poll {
     }
 
     @JsonProperty("userVotedOptionIds")
-    public List<Integer> getUserVotedOptionIds(Integer userId) {
-        if (userId == null || options == null) {
-            return new ArrayList<>();
-        }
+    public List<Integer> getUserVotedOptionIds() {
+        return userVotedOptionIds;
+    }
 
-        List<Integer> votedOptionIds = new ArrayList<>();
-        for (Vote option : options) {
-            if (option.getListUsers() != null && option.getListUsers().contains(userId)) {
-                votedOptionIds.add(option.getId());
-            }
-        }
-        return votedOptionIds;
+    public void setUserVotedOptionIds(List<Integer> userVotedOptionIds) {
+        this.userVotedOptionIds = userVotedOptionIds;
     }
 
     @JsonProperty("creatorAvatar")
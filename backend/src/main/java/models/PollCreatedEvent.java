@@ -0,0 +1,3 @@
+package models;
+
+public record PollCreatedEvent(int pollId) {}
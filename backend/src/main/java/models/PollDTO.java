@@ -16,7 +16,7 @@ public class PollDTO {
     private String creatorAvatar;
     private List<Integer> userVotedOptionIds;
 
-    public PollDTO(Poll poll, Integer currentUserId) {
+    public PollDTO(Poll poll, List<Integer> userVotedOptionIds) {
         this.id = poll.getId();
         this.title = poll.getTitle();
         this.description = poll.getDescription();
@@ -27,7 +27,7 @@ public class PollDTO {
         this.creatorId = poll.getCreatorId();
         this.creatorName = poll.getCreatorName();
         this.creatorAvatar = poll.getCreatorAvatar();
-        this.userVotedOptionIds = poll.getUserVotedOptionIds(currentUserId);
+        this.userVotedOptionIds = userVotedOptionIds;
     }
 
     public int getId() { return id; }
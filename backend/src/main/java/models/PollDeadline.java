@@ -0,0 +1,5 @@
+package models;
+
+import java.time.LocalDateTime;
+
+public record PollDeadline(int pollId, LocalDateTime endDate) {}
@@ -0,0 +1,3 @@
+package models;
+
+public record PollDeletedEvent(int pollId) {}
@@ -0,0 +1,122 @@
+package models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "poll_resolution_jobs")
+public class PollResolutionJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "poll_id", nullable = false, unique = true)
+    private int pollId;
+
+    @Column(name = "winning_option_id", nullable = false)
+    private int winningOptionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "winner_pool")
+    private long winnerPool;
+
+    @Column(name = "loser_pool")
+    private long loserPool;
+
+    @Column(name = "pools_computed")
+    private boolean poolsComputed = false;
+
+    @Column(name = "last_user_id")
+    private int lastUserId = 0;
+
+    @Column(name = "paid_count")
+    private int paidCount = 0;
+
+    @Column(name = "total_winners")
+    private int totalWinners = 0;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public PollResolutionJob() {
+    }
+
+    public PollResolutionJob(int pollId, int winningOptionId) {
+        this.pollId = pollId;
+        this.winningOptionId = winningOptionId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public int getId() { return id; }
+
+    public int getPollId() { return pollId; }
+
+    public int getWinningOptionId() { return winningOptionId; }
+    public void setWinningOptionId(int winningOptionId) { this.winningOptionId = winningOptionId; }
+
+    // Pools belong to one winning option; a different winner needs them recomputed before anyone is paid.
+    public void changeWinningOption(int winningOptionId) {
+        if (this.winningOptionId == winningOptionId) return;
+
+        this.winningOptionId = winningOptionId;
+        this.poolsComputed = false;
+        this.winnerPool = 0;
+        this.loserPool = 0;
+        this.totalWinners = 0;
+    }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public long getWinnerPool() { return winnerPool; }
+    public void setWinnerPool(long winnerPool) { this.winnerPool = winnerPool; }
+
+    public long getLoserPool() { return loserPool; }
+    public void setLoserPool(long loserPool) { this.loserPool = loserPool; }
+
+    public boolean isPoolsComputed() { return poolsComputed; }
+    public void setPoolsComputed(boolean poolsComputed) { this.poolsComputed = poolsComputed; }
+
+    public int getLastUserId() { return lastUserId; }
+    public void setLastUserId(int lastUserId) { this.lastUserId = lastUserId; }
+
+    public int getPaidCount() { return paidCount; }
+    public void setPaidCount(int paidCount) { this.paidCount = paidCount; }
+
+    public int getTotalWinners() { return totalWinners; }
+    public void setTotalWinners(int totalWinners) { this.totalWinners = totalWinners; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
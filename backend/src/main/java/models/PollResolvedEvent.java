@@ -0,0 +1,3 @@
+package models;
+
+public record PollResolvedEvent(int pollId, int winningOptionId) {}
@@ -0,0 +1,72 @@
+package models;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Immutable per-poll result vector; a vote produces a new snapshot with a new version.
+public final class PollResults {
+
+    private final int pollId;
+    private final int[] optionIds;
+    private final String[] optionTexts;
+    private final int[] votes;
+    private final long version;
+    private final Map<String, Double> percentages;
+
+    public PollResults(int pollId, int[] optionIds, String[] optionTexts, int[] votes, long version) {
+        this.pollId = pollId;
+        this.optionIds = optionIds;
+        this.optionTexts = optionTexts;
+        this.votes = votes;
+        this.version = version;
+        this.percentages = computePercentages();
+    }
+
+    public PollResults withVote(int optionId, long newVersion) {
+        for (int i = 0; i < optionIds.length; i++) {
+            if (optionIds[i] == optionId) {
+                int[] updated = Arrays.copyOf(votes, votes.length);
+                updated[i]++;
+                return new PollResults(pollId, optionIds, optionTexts, updated, newVersion);
+            }
+        }
+        return this;
+    }
+
+    public int getPollId() {
+        return pollId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int[] getOptionIds() {
+        return optionIds.clone();
+    }
+
+    public int[] getVotes() {
+        return votes.clone();
+    }
+
+    public int getTotalVotes() {
+        return Arrays.stream(votes).sum();
+    }
+
+    public Map<String, Double> getPercentages() {
+        return percentages;
+    }
+
+    private Map<String, Double> computePercentages() {
+        int total = getTotalVotes();
+        if (total == 0) return Map.of();
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < optionIds.length; i++) {
+            result.put(optionTexts[i], (votes[i] * 100.0) / total);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,72 @@
+package models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "poll_summary", indexes = {
+        @Index(name = "idx_poll_summary_end_date_poll", columnList = "end_date, poll_id")
+})
+public class PollSummary {
+
+    @Id
+    @Column(name = "poll_id")
+    private int pollId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "date", nullable = false)
+    private LocalDateTime date;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime endDate;
+
+    @Column(name = "creator_id")
+    private int creatorId;
+
+    @Column(name = "creator_name")
+    private String creatorName;
+
+    @Column(name = "closed")
+    private boolean closed;
+
+    @Column(name = "resolved")
+    private boolean resolved;
+
+    @Column(name = "winning_option_id")
+    private Integer winningOptionId;
+
+    @Column(name = "total_votes")
+    private int totalVotes;
+
+    @Column(name = "total_bets")
+    private long totalBets;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public PollSummary() {}
+
+    public boolean isExpired() {
+        return closed || LocalDateTime.now().isAfter(endDate);
+    }
+
+    public int getPollId() { return pollId; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public LocalDateTime getDate() { return date; }
+    public LocalDateTime getEndDate() { return endDate; }
+    public int getCreatorId() { return creatorId; }
+    public String getCreatorName() { return creatorName; }
+    public boolean isClosed() { return closed; }
+    public boolean isResolved() { return resolved; }
+    public Integer getWinningOptionId() { return winningOptionId; }
+    public int getTotalVotes() { return totalVotes; }
+    public long getTotalBets() { return totalBets; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,34 @@
+package models;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "poll_summary_options", indexes = {
+        @Index(name = "idx_poll_summary_options_poll", columnList = "poll_id, option_id")
+})
+public class PollSummaryOption {
+
+    @Id
+    @Column(name = "option_id")
+    private int optionId;
+
+    @Column(name = "poll_id", nullable = false)
+    private int pollId;
+
+    @Column(name = "option_text", nullable = false, length = 500)
+    private String optionText;
+
+    @Column(name = "total_votes")
+    private int totalVotes;
+
+    @Column(name = "total_bets")
+    private long totalBets;
+
+    public PollSummaryOption() {}
+
+    public int getOptionId() { return optionId; }
+    public int getPollId() { return pollId; }
+    public String getOptionText() { return optionText; }
+    public int getTotalVotes() { return totalVotes; }
+    public long getTotalBets() { return totalBets; }
+}
@@ -0,0 +1,3 @@
+package models;
+
+public record PollUpdatedEvent(int pollId) {}
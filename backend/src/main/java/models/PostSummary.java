@@ -0,0 +1,14 @@
+package models;
+
+import java.time.LocalDateTime;
+
+public record PostSummary(int id, String title, String excerpt, LocalDateTime createdAt, Author author,
+                          int likeCount, int commentCount) {
+
+    public PostSummary(int id, String title, String excerpt, LocalDateTime createdAt, int authorId, String authorName,
+                       int likeCount, int commentCount) {
+        this(id, title, excerpt, createdAt, new Author(authorId, authorName), likeCount, commentCount);
+    }
+
+    public record Author(int id, String name) {}
+}
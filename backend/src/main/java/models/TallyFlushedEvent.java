@@ -0,0 +1,5 @@
+package models;
+
+import java.util.Set;
+
+public record TallyFlushedEvent(Set<Integer> pollIds) {}
@@ -15,7 +15,13 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "users")
+// Leaderboards sort by the score descending with id ascending as the tie-break; the indexes use the same mixed
+// direction so MySQL can read them in order instead of filesorting.
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_points_desc_id", columnList = "points DESC, id"),
+        @Index(name = "idx_users_achievement_count_desc_id", columnList = "achievement_count DESC, id"),
+        @Index(name = "idx_users_tier_score_desc_id", columnList = "tier_score DESC, id")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "user_type", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("USER")
@@ -35,8 +41,19 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // Balance and badge counters are moved only by atomic UPDATE statements (UserRepository, AchievementService,
+    // the vote and resolution pipelines), so saving a stale User never writes old values back.
+    @Column(updatable = false)
     private int points = 0;
 
+    @Column(name = "achievement_count", nullable = false, columnDefinition = "int default 0",
+            insertable = false, updatable = false)
+    private int achievementCount = 0;
+
+    @Column(name = "tier_score", nullable = false, columnDefinition = "int default 0",
+            insertable = false, updatable = false)
+    private int tierScore = 0;
+
     @Column(name = "verification_code")
     private Integer verificationCode;
 
@@ -138,6 +155,10 @@ public class User {
         this.createdPolls = createdPolls;
     }
 
+    public int getAchievementCount() { return achievementCount; }
+
+    public int getTierScore() { return tierScore; }
+
     public List<Integer> getAchievementList() {
         return achievementList != null ? achievementList : new ArrayList<>();
     }
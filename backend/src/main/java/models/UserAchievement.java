@@ -0,0 +1,42 @@
+package models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_achievements", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_achievements_user_achievement", columnNames = {"user_id", "achievement_id"})
+}, indexes = {
+        @Index(name = "idx_user_achievements_achievement_user", columnList = "achievement_id, user_id")
+})
+public class UserAchievement {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "user_id", nullable = false)
+    private int userId;
+
+    @Column(name = "achievement_id", nullable = false)
+    private int achievementId;
+
+    @Column(name = "awarded_at", nullable = false)
+    private LocalDateTime awardedAt;
+
+    public UserAchievement() {}
+
+    public UserAchievement(int userId, int achievementId, LocalDateTime awardedAt) {
+        this.userId = userId;
+        this.achievementId = achievementId;
+        this.awardedAt = awardedAt;
+    }
+
+    public int getId() { return id; }
+    public int getUserId() { return userId; }
+    public void setUserId(int userId) { this.userId = userId; }
+    public int getAchievementId() { return achievementId; }
+    public void setAchievementId(int achievementId) { this.achievementId = achievementId; }
+    public LocalDateTime getAwardedAt() { return awardedAt; }
+    public void setAwardedAt(LocalDateTime awardedAt) { this.awardedAt = awardedAt; }
+}
@@ -0,0 +1,30 @@
+package models;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "user_activity_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_activity_counters_user_type", columnNames = {"user_id", "counter_type"})
+})
+public class UserActivityCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(name = "user_id", nullable = false)
+    private int userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_type", nullable = false, length = 32)
+    private UserActivityEvent.Activity counterType;
+
+    @Column(name = "counter_value", nullable = false)
+    private long value;
+
+    public UserActivityCounter() {}
+
+    public int getId() { return id; }
+    public int getUserId() { return userId; }
+    public UserActivityEvent.Activity getCounterType() { return counterType; }
+    public long getValue() { return value; }
+}
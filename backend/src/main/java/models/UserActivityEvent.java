@@ -0,0 +1,20 @@
+package models;
+
+public record UserActivityEvent(int userId, Activity activity, int delta) {
+
+    public enum Activity {
+        POST,
+        COMMENT,
+        LIKE_RECEIVED;
+
+        // The activity an achievement type's actionCountRequired counts, or null if the type has none.
+        public static Activity countedBy(Achievement.AchievementType type) {
+            return switch (type) {
+                case POST_COUNT -> POST;
+                case COMMENT_COUNT -> COMMENT;
+                case LIKE_COUNT -> LIKE_RECEIVED;
+                default -> null;
+            };
+        }
+    }
+}
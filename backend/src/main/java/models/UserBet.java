@@ -3,7 +3,11 @@ package models;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "user_bets")
+@Table(name = "user_bets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_bets_vote_user", columnNames = {"vote_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_user_bets_user_poll", columnList = "user_id, poll_id")
+})
 public class UserBet {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,13 +19,17 @@ public class UserBet {
     @Column(name = "vote_id")
     private int voteId;
 
+    @Column(name = "poll_id")
+    private Integer pollId;
+
     @Column(name = "bet_amount")
     private int betAmount;
 
     public UserBet() {}
 
-    public UserBet(int userId, int voteId, int betAmount) {
+    public UserBet(int userId, int pollId, int voteId, int betAmount) {
         this.userId = userId;
+        this.pollId = pollId;
         this.voteId = voteId;
         this.betAmount = betAmount;
     }
@@ -31,6 +39,8 @@ public class UserBet {
     public void setUserId(int userId) { this.userId = userId; }
     public int getVoteId() { return voteId; }
     public void setVoteId(int voteId) { this.voteId = voteId; }
+    public Integer getPollId() { return pollId; }
+    public void setPollId(Integer pollId) { this.pollId = pollId; }
     public int getBetAmount() { return betAmount; }
     public void setBetAmount(int betAmount) { this.betAmount = betAmount; }
 }
\ No newline at end of file
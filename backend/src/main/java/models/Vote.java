@@ -2,7 +2,10 @@ package models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import utils.VoterBitmap;
+
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Entity
@@ -21,13 +24,20 @@ public class Vote {
     @Column(name = "option_text", nullable = false, length = 500)
     private String optionText;
 
-    @Column(name = "total_bets")
+    // Totals are moved only by the atomic UPDATE in the vote ingestion batch, so a stale save never rolls them back.
+    @Column(name = "total_bets", updatable = false)
     private int totalBets = 0;
 
-    @ElementCollection
-    @CollectionTable(name = "vote_users", joinColumns = @JoinColumn(name = "vote_id"))
-    @Column(name = "user_id")
-    private List<Integer> listUsers = new ArrayList<>();
+    @Lob
+    @Column(name = "voter_bitmap", columnDefinition = "LONGBLOB")
+    @JsonIgnore
+    private byte[] voterData;
+
+    @Column(name = "voter_count", updatable = false)
+    private int voterCount = 0;
+
+    @Transient
+    private VoterBitmap voters;
 
     public Vote() {
         // Default constructor for JPA
@@ -45,17 +55,38 @@ public class Vote {
     }
 
     public void addVote(int userId, int betAmount) {
-        if (!listUsers.contains(userId)) {
-            listUsers.add(userId);
+        if (voters().add(userId)) {
             totalBets += betAmount;
+            storeVoters();
         }
     }
 
     public void addVote(int userId) {
-        if (!listUsers.contains(userId)) {
-            listUsers.add(userId);
-            totalBets += 1;
+        addVote(userId, 1);
+    }
+
+    public boolean hasVoted(int userId) {
+        return voters().contains(userId);
+    }
+
+    public void applyVoters(Collection<Integer> userIds) {
+        VoterBitmap bitmap = voters();
+        for (Integer userId : userIds) {
+            bitmap.add(userId);
         }
+        storeVoters();
+    }
+
+    private VoterBitmap voters() {
+        if (voters == null) {
+            voters = VoterBitmap.deserialize(voterData);
+        }
+        return voters;
+    }
+
+    private void storeVoters() {
+        voterData = voters.serialize();
+        voterCount = voters.cardinality();
     }
 
     public String getOptionText() {
@@ -67,7 +98,7 @@ public class Vote {
     }
 
     public int getTotalVotes() {
-        return listUsers.size();
+        return voterCount;
     }
 
     public int getTotalBets() {
@@ -94,11 +125,20 @@ public class Vote {
         this.poll = poll;
     }
 
+    @JsonIgnore
+    public VoterBitmap getVoters() {
+        return voters();
+    }
+
+    @JsonIgnore
     public List<Integer> getListUsers() {
-        return listUsers;
+        List<Integer> userIds = new ArrayList<>(voters().cardinality());
+        voters().forEach(userIds::add);
+        return userIds;
     }
 
     public void setListUsers(List<Integer> listUsers) {
-        this.listUsers = listUsers;
+        this.voters = VoterBitmap.of(listUsers);
+        storeVoters();
     }
 }
\ No newline at end of file
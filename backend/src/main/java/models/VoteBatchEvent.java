@@ -0,0 +1,6 @@
+package models;
+
+import java.util.List;
+
+// Published by the ingestion pipeline inside the batch transaction, so listeners' writes commit or roll back with it.
+public record VoteBatchEvent(List<VoteRecordedEvent> votes) {}
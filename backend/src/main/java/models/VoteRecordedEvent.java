@@ -0,0 +1,3 @@
+package models;
+
+public record VoteRecordedEvent(int pollId, int optionId, int userId, int betAmount) {}
@@ -2,9 +2,24 @@ package repository;
 
 import models.BlogPost;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface BlogPostRepository extends JpaRepository<BlogPost, Integer> {
-}
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE blog_posts SET like_count = GREATEST(COALESCE(like_count, 0) + :delta, 0) WHERE id = :postId",
+            nativeQuery = true)
+    int adjustLikeCount(@Param("postId") int postId, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE blog_posts SET comment_count = GREATEST(COALESCE(comment_count, 0) + :delta, 0) WHERE id = :postId",
+            nativeQuery = true)
+    int adjustCommentCount(@Param("postId") int postId, @Param("delta") int delta);
+}
@@ -1,15 +1,27 @@
 package repository;
 
 import models.Poll;
+import models.PollDeadline;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Repository
 public interface PollRepository extends JpaRepository<Poll, Integer> {
 
     List<Poll> findByEndDateAfter(LocalDateTime date);
+
+    @Query("SELECT new models.PollDeadline(p.id, p.endDate) FROM Poll p WHERE p.closed = false")
+    List<PollDeadline> findOpenPollDeadlines();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Poll p SET p.closed = true WHERE p.id = :id")
+    int markClosed(@Param("id") int id);
 }
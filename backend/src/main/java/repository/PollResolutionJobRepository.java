@@ -0,0 +1,16 @@
+package repository;
+
+import models.PollResolutionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PollResolutionJobRepository extends JpaRepository<PollResolutionJob, Integer> {
+
+    Optional<PollResolutionJob> findByPollId(int pollId);
+
+    List<PollResolutionJob> findByStatusIn(List<PollResolutionJob.Status> statuses);
+}
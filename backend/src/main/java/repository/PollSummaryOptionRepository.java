@@ -0,0 +1,14 @@
+package repository;
+
+import models.PollSummaryOption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PollSummaryOptionRepository extends JpaRepository<PollSummaryOption, Integer> {
+
+    List<PollSummaryOption> findByPollIdInOrderByOptionIdAsc(Collection<Integer> pollIds);
+}
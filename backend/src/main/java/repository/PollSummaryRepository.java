@@ -0,0 +1,13 @@
+package repository;
+
+import models.PollSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PollSummaryRepository extends JpaRepository<PollSummary, Integer> {
+
+    List<PollSummary> findAllByOrderByPollIdAsc();
+}
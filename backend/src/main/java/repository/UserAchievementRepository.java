@@ -0,0 +1,15 @@
+package repository;
+
+import models.UserAchievement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserAchievementRepository extends JpaRepository<UserAchievement, Integer> {
+
+    List<UserAchievement> findByUserIdOrderByAwardedAtAsc(int userId);
+
+    boolean existsByUserIdAndAchievementId(int userId, int achievementId);
+}
@@ -1,9 +1,14 @@
 package repository;
 
+import models.LeaderboardEntry;
 import models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,10 +20,26 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findById(int id);
     User save(User user);
 
-    @Query("SELECT u FROM User u ORDER BY u.points DESC")
-    List<User> findTopByOrderByPointsDesc(int limit);
+    @Query("SELECT new models.LeaderboardEntry(u.id, u.name, u.points) FROM User u ORDER BY u.points DESC, u.id ASC")
+    List<LeaderboardEntry> findPointsLeaderboard(Pageable pageable);
 
     @Query("SELECT u FROM User u ORDER BY u.points DESC")
     List<User> findAllByOrderByPointsDesc();
 
+    @Query("SELECT u FROM User u ORDER BY u.achievementCount DESC, u.id ASC")
+    List<User> findAchievementsLeaderboard(Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.achievementCount > :count OR (u.achievementCount = :count AND u.id < :id)")
+    long countRankedAboveByAchievements(@Param("count") int count, @Param("id") int id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.points = u.points + :points WHERE u.id = :id")
+    int addPoints(@Param("id") int id, @Param("points") int points);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.points = u.points - :points WHERE u.id = :id AND u.points >= :points")
+    int decreasePoints(@Param("id") int id, @Param("points") int points);
+
 }
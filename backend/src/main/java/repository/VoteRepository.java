@@ -2,8 +2,13 @@ package repository;
 
 import models.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface VoteRepository extends JpaRepository<Vote, Integer> {
+
+    @Query("SELECT COUNT(v) > 0 FROM Vote v WHERE v.id = :optionId AND v.poll.id = :pollId")
+    boolean existsInPoll(@Param("optionId") int optionId, @Param("pollId") int pollId);
 }
@@ -1,4 +1,77 @@
 package security;
 
-public class DataInitializer {
+import models.Vote;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import repository.VoteRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class DataInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VoteRepository voteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DataInitializer(JdbcTemplate jdbcTemplate,
+                           VoteRepository voteRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.voteRepository = voteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrateLegacyVoters();
+        backfillBetPolls();
+    }
+
+    private void backfillBetPolls() {
+        int updated = jdbcTemplate.update(
+                "UPDATE user_bets SET poll_id = (SELECT v.poll_id FROM votes v WHERE v.id = user_bets.vote_id) " +
+                        "WHERE poll_id IS NULL");
+
+        if (updated > 0) {
+            System.out.println("[INIT] Backfilled poll ids of " + updated + " user bets");
+        }
+    }
+
+    private void migrateLegacyVoters() {
+        Map<Integer, List<Integer>> legacyVoters = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT vote_id, user_id FROM vote_users", rs -> {
+                legacyVoters.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>()).add(rs.getInt(2));
+            });
+        } catch (DataAccessException e) {
+            return;
+        }
+
+        if (legacyVoters.isEmpty()) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Vote> options = voteRepository.findAllById(legacyVoters.keySet());
+            for (Vote option : options) {
+                option.applyVoters(legacyVoters.get(option.getId()));
+            }
+            voteRepository.saveAll(options);
+            jdbcTemplate.batchUpdate("UPDATE votes SET voter_count = ? WHERE id = ?",
+                    options, options.size(), (ps, option) -> {
+                        ps.setInt(1, option.getTotalVotes());
+                        ps.setInt(2, option.getId());
+                    });
+            jdbcTemplate.update("DELETE FROM vote_users");
+        });
+
+        System.out.println("[INIT] Migrated voters of " + legacyVoters.size() + " options into voter bitmaps");
+    }
 }
@@ -0,0 +1,229 @@
+package service;
+
+import jakarta.annotation.PreDestroy;
+import models.Achievement;
+import models.ResultError;
+import models.UserActivityEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Retroactively awards one achievement to every user who already meets its criteria. The user id space is cut
+// into fixed ranges that a few workers claim from a shared cursor; each range is filtered in SQL (points, not yet
+// held), checked against the activity counters and written through awardBatch in small batches, so row locks
+// stay short. Workers pause between ranges and stop at the next range boundary when the job is cancelled.
+// One job runs at a time and its progress lives in memory only.
+@Service
+public class AchievementBackfill {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AchievementCatalog achievementCatalog;
+    private final AchievementService achievementService;
+    private final ActivityCounterStore activityCounterStore;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int awardBatchSize;
+    private final long pauseMs;
+
+    private final ExecutorService executor;
+    private volatile Job current;
+
+    public AchievementBackfill(JdbcTemplate jdbcTemplate,
+                               AchievementCatalog achievementCatalog,
+                               AchievementService achievementService,
+                               ActivityCounterStore activityCounterStore,
+                               @Value("${achievements.backfill.chunk-size:1000}") int chunkSize,
+                               @Value("${achievements.backfill.parallelism:2}") int parallelism,
+                               @Value("${achievements.backfill.award-batch-size:200}") int awardBatchSize,
+                               @Value("${achievements.backfill.pause-ms:50}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.achievementCatalog = achievementCatalog;
+        this.achievementService = achievementService;
+        this.activityCounterStore = activityCounterStore;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.awardBatchSize = awardBatchSize;
+        this.pauseMs = pauseMs;
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "achievement-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized ResultError start(int achievementId) {
+        Optional<Achievement> achievementOpt = achievementCatalog.getActive(achievementId);
+        if (achievementOpt.isEmpty()) return new ResultError(false, "Achievement not found");
+
+        Achievement achievement = achievementOpt.get();
+        UserActivityEvent.Activity activity = UserActivityEvent.Activity.countedBy(achievement.getType());
+        if (achievement.getPointsRequired() == null && achievement.getActionCountRequired() == null) {
+            return new ResultError(false, "Achievement has no criteria to evaluate");
+        }
+        if (achievement.getActionCountRequired() != null && activity == null) {
+            return new ResultError(false, "Action counts are not tracked for type " + achievement.getType());
+        }
+        if (current != null && current.status == Status.RUNNING) {
+            return new ResultError(false, "Backfill already running for achievement " + current.achievementId);
+        }
+
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users");
+        int minId = bounds.get("min_id") == null ? 0 : ((Number) bounds.get("min_id")).intValue();
+        int maxId = bounds.get("max_id") == null ? -1 : ((Number) bounds.get("max_id")).intValue();
+
+        Job job = new Job(achievement, activity, minId, maxId);
+        current = job;
+
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> work(job), executor);
+        }
+        CompletableFuture.allOf(workers).whenComplete((ignored, error) -> job.finish(error));
+
+        System.out.println("[BACKFILL] Started for achievement " + achievementId + " over " + job.totalChunks + " chunks");
+        return new ResultError(true, "Backfill started");
+    }
+
+    public synchronized ResultError cancel() {
+        Job job = current;
+        if (job == null || job.status != Status.RUNNING) return new ResultError(false, "No backfill running");
+
+        job.cancelled = true;
+        return new ResultError(true, "Backfill cancelling");
+    }
+
+    public Optional<Map<String, Object>> getStatus() {
+        Job job = current;
+        return job == null ? Optional.empty() : Optional.of(job.toMap());
+    }
+
+    private void work(Job job) {
+        while (!job.cancelled && job.error == null) {
+            int chunk = job.nextChunk.getAndIncrement();
+            if (chunk >= job.totalChunks) return;
+
+            int from = job.minId + chunk * chunkSize;
+            int to = (int) Math.min((long) from + chunkSize, (long) job.maxId + 1);
+            try {
+                backfillRange(job, from, to);
+            } catch (RuntimeException e) {
+                job.error = e.getMessage();
+                System.err.println("[BACKFILL] Chunk " + from + "-" + to + " failed: " + e.getMessage());
+                return;
+            }
+            job.completedChunks.increment();
+
+            if (pauseMs > 0) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void backfillRange(Job job, int from, int to) {
+        Achievement achievement = job.achievement;
+        String sql = "SELECT u.id FROM users u WHERE u.id >= ? AND u.id < ? " +
+                (achievement.getPointsRequired() != null ? "AND u.points >= ? " : "") +
+                "AND NOT EXISTS (SELECT 1 FROM user_achievements ua WHERE ua.user_id = u.id AND ua.achievement_id = ?)";
+        Object[] args = achievement.getPointsRequired() != null
+                ? new Object[]{from, to, achievement.getPointsRequired(), achievement.getId()}
+                : new Object[]{from, to, achievement.getId()};
+        int[] candidates = jdbcTemplate.queryForList(sql, Integer.class, args).stream().mapToInt(Integer::intValue).toArray();
+        job.candidateUsers.add(candidates.length);
+
+        List<int[]> awards = new ArrayList<>();
+        long[] counts = achievement.getActionCountRequired() != null
+                ? activityCounterStore.get(job.activity, candidates)
+                : null;
+        for (int i = 0; i < candidates.length; i++) {
+            if (counts != null && counts[i] < achievement.getActionCountRequired()) continue;
+            awards.add(new int[]{candidates[i], achievement.getId()});
+        }
+
+        for (int start = 0; start < awards.size() && !job.cancelled; start += awardBatchSize) {
+            List<int[]> batch = awards.subList(start, Math.min(awards.size(), start + awardBatchSize));
+            job.awarded.add(achievementService.awardBatch(batch).size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Job job = current;
+        if (job != null) job.cancelled = true;
+        executor.shutdown();
+    }
+
+    private final class Job {
+
+        private final Achievement achievement;
+        private final UserActivityEvent.Activity activity;
+        private final int achievementId;
+        private final int minId;
+        private final int maxId;
+        private final int totalChunks;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        private final LongAdder completedChunks = new LongAdder();
+        private final LongAdder candidateUsers = new LongAdder();
+        private final LongAdder awarded = new LongAdder();
+
+        private volatile Status status = Status.RUNNING;
+        private volatile boolean cancelled;
+        private volatile String error;
+        private volatile long elapsedMs = -1;
+
+        private Job(Achievement achievement, UserActivityEvent.Activity activity, int minId, int maxId) {
+            this.achievement = achievement;
+            this.activity = activity;
+            this.achievementId = achievement.getId();
+            this.minId = minId;
+            this.maxId = maxId;
+            this.totalChunks = maxId < minId ? 0 : (int) (((long) maxId - minId) / chunkSize + 1);
+        }
+
+        private void finish(Throwable failure) {
+            if (failure != null && error == null) error = failure.getMessage();
+            elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+            status = error != null ? Status.FAILED : cancelled ? Status.CANCELLED : Status.COMPLETED;
+            System.out.println("[BACKFILL] Achievement " + achievementId + " " + status + ": " + awarded.sum()
+                    + " awarded in " + elapsedMs + " ms");
+        }
+
+        private Map<String, Object> toMap() {
+            long done = completedChunks.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("achievementId", achievementId);
+            map.put("status", status);
+            map.put("startedAt", startedAt);
+            map.put("completedChunks", done);
+            map.put("totalChunks", totalChunks);
+            map.put("progress", totalChunks == 0 ? 1.0 : (double) done / totalChunks);
+            map.put("candidateUsers", candidateUsers.sum());
+            map.put("awarded", awarded.sum());
+            map.put("elapsedMs", elapsedMs >= 0 ? elapsedMs : (System.nanoTime() - startNanos) / 1_000_000);
+            map.put("error", error);
+            return map;
+        }
+    }
+}
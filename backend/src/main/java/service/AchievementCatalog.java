@@ -0,0 +1,148 @@
+package service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import models.Achievement;
+import models.AchievementsChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import repository.AchievementRepository;
+
+import java.util.*;
+import java.util.zip.CRC32;
+
+// The whole achievement catalog in memory: one immutable snapshot with EnumMap indexes of active achievements by
+// type, tier and (type, tier), plus the pre-serialized GET /api/achievements body and its ETag. Every create,
+// update or delete rebuilds the snapshot from the table and swaps it in, so readers never lock or see a partial
+// index. The returned entities are shared; callers must not modify them.
+@Component
+public class AchievementCatalog {
+
+    private static final Achievement.AchievementType[] TYPES = Achievement.AchievementType.values();
+    private static final Achievement.BadgeTier[] TIERS = Achievement.BadgeTier.values();
+
+    private final AchievementRepository achievementRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    public AchievementCatalog(AchievementRepository achievementRepository, ObjectMapper objectMapper) {
+        this.achievementRepository = achievementRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    // Runs before listeners that read the new catalog, such as AchievementEngine.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onAchievementsChanged(AchievementsChangedEvent event) {
+        reload();
+    }
+
+    private synchronized Snapshot reload() {
+        List<Achievement> all = new ArrayList<>(achievementRepository.findAll());
+        all.sort(Comparator.comparingInt(Achievement::getId));
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(all);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize achievements", e);
+        }
+
+        Snapshot loaded = new Snapshot(all, json);
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    public List<Achievement> all() {
+        return snapshot().all;
+    }
+
+    public Optional<Achievement> get(int id) {
+        return Optional.ofNullable(snapshot().byId.get(id));
+    }
+
+    public Optional<Achievement> getActive(int id) {
+        return get(id).filter(Achievement::isActive);
+    }
+
+    public List<Achievement> active() {
+        return snapshot().active;
+    }
+
+    public List<Achievement> activeByType(Achievement.AchievementType type) {
+        return snapshot().byType.get(type);
+    }
+
+    public List<Achievement> activeByTier(Achievement.BadgeTier tier) {
+        return snapshot().byTier.get(tier);
+    }
+
+    public List<Achievement> activeByTypeAndTier(Achievement.AchievementType type, Achievement.BadgeTier tier) {
+        return snapshot().byTypeAndTier.get(type).get(tier);
+    }
+
+    public int countActive(Achievement.AchievementType type) {
+        return activeByType(type).size();
+    }
+
+    // The serialized body and its ETag always come from the same snapshot.
+    public Body body() {
+        return snapshot().body;
+    }
+
+    public record Body(byte[] json, String etag) {}
+
+    private static final class Snapshot {
+
+        private final List<Achievement> all;
+        private final List<Achievement> active;
+        private final Map<Integer, Achievement> byId;
+        private final EnumMap<Achievement.AchievementType, List<Achievement>> byType =
+                new EnumMap<>(Achievement.AchievementType.class);
+        private final EnumMap<Achievement.BadgeTier, List<Achievement>> byTier =
+                new EnumMap<>(Achievement.BadgeTier.class);
+        private final EnumMap<Achievement.AchievementType, EnumMap<Achievement.BadgeTier, List<Achievement>>> byTypeAndTier =
+                new EnumMap<>(Achievement.AchievementType.class);
+        private final Body body;
+
+        private Snapshot(List<Achievement> all, byte[] json) {
+            this.all = List.copyOf(all);
+            this.active = all.stream().filter(Achievement::isActive).toList();
+
+            Map<Integer, Achievement> ids = new HashMap<>();
+            all.forEach(achievement -> ids.put(achievement.getId(), achievement));
+            this.byId = Map.copyOf(ids);
+
+            for (Achievement.AchievementType type : TYPES) {
+                byType.put(type, active.stream().filter(a -> a.getType() == type).toList());
+
+                EnumMap<Achievement.BadgeTier, List<Achievement>> tiers = new EnumMap<>(Achievement.BadgeTier.class);
+                for (Achievement.BadgeTier tier : TIERS) {
+                    tiers.put(tier, byType.get(type).stream().filter(a -> a.getTier() == tier).toList());
+                }
+                byTypeAndTier.put(type, tiers);
+            }
+            for (Achievement.BadgeTier tier : TIERS) {
+                byTier.put(tier, active.stream().filter(a -> a.getTier() == tier).toList());
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            this.body = new Body(json, "\"achievements-" + Long.toHexString(crc.getValue()) + "-" + json.length + "\"");
+        }
+    }
+}
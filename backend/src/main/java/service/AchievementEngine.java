@@ -0,0 +1,277 @@
+package service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import models.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import utils.IntCountMatrix;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+// Awards achievements when a user's activity count or points cross a threshold. Active achievements are kept per
+// AchievementType in two arrays sorted by actionCountRequired and pointsRequired; an event only binary-searches
+// the thresholds crossed between the old and new value, then checks the other criterion from memory. Awards are
+// queued and written by awardBatch on a fixed delay. Lowering a value never revokes.
+@Service
+public class AchievementEngine {
+
+    private static final Achievement.AchievementType[] TYPES = Achievement.AchievementType.values();
+    private static final UserActivityEvent.Activity[] ACTIVITIES = UserActivityEvent.Activity.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AchievementService achievementService;
+    private final AchievementCatalog achievementCatalog;
+    private final ActivityCounterStore activityCounterStore;
+    private final PointsRankIndex pointsRankIndex;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final IntCountMatrix activityCounts = new IntCountMatrix(ACTIVITIES.length, 1024);
+    private final Set<Long> held = new HashSet<>();
+    private final Set<Long> queued = new LinkedHashSet<>();
+    private volatile Rules rules = new Rules(List.of());
+    private boolean loaded;
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder awarded = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "achievement-award-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AchievementEngine(JdbcTemplate jdbcTemplate,
+                             AchievementService achievementService,
+                             AchievementCatalog achievementCatalog,
+                             ActivityCounterStore activityCounterStore,
+                             PointsRankIndex pointsRankIndex,
+                             @Value("${achievements.engine.batch-size:256}") int batchSize,
+                             @Value("${achievements.engine.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.achievementService = achievementService;
+        this.achievementCatalog = achievementCatalog;
+        this.activityCounterStore = activityCounterStore;
+        this.pointsRankIndex = pointsRankIndex;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        reloadRules();
+
+        activityCounts.clear();
+        activityCounterStore.forEach((userId, activity, value) ->
+                activityCounts.addTo(userId, activity.ordinal(), (int) Math.min(value, Integer.MAX_VALUE)));
+
+        held.clear();
+        jdbcTemplate.query("SELECT user_id, achievement_id FROM user_achievements", rs -> {
+            held.add(key(rs.getInt(1), rs.getInt(2)));
+        });
+        loaded = true;
+    }
+
+    @EventListener
+    public void onAchievementsChanged(AchievementsChangedEvent event) {
+        reloadRules();
+    }
+
+    private void reloadRules() {
+        List<Rule> active = new ArrayList<>();
+        for (Achievement achievement : achievementCatalog.active()) {
+            active.add(new Rule(achievement.getId(), achievement.getType(),
+                    achievement.getPointsRequired(), achievement.getActionCountRequired()));
+        }
+        rules = new Rules(active);
+    }
+
+    @EventListener
+    public synchronized void onActivity(UserActivityEvent event) {
+        if (!loaded) return;
+
+        int column = event.activity().ordinal();
+        int before = activityCounts.get(event.userId(), column);
+        int after = activityCounts.addTo(event.userId(), column, event.delta());
+        if (after <= before) return;
+
+        Achievement.AchievementType type = typeOf(event.activity());
+        evaluate(event.userId(), rules.byAction[type.ordinal()].crossed(before, after));
+    }
+
+    @EventListener
+    public synchronized void onPointsChanged(PointsChangedEvent event) {
+        if (!loaded || event.delta() <= 0) return;
+
+        int after = pointsRankIndex.points(event.userId());
+        int before = after - event.delta();
+        Rules current = rules;
+        for (Achievement.AchievementType type : TYPES) {
+            evaluate(event.userId(), current.byPoints[type.ordinal()].crossed(before, after));
+        }
+    }
+
+    @EventListener
+    public synchronized void onAwarded(AchievementAwardedEvent event) {
+        held.add(key(event.userId(), event.achievementId()));
+    }
+
+    @EventListener
+    public synchronized void onRevoked(AchievementRevokedEvent event) {
+        held.remove(key(event.userId(), event.achievementId()));
+    }
+
+    private void evaluate(int userId, List<Rule> candidates) {
+        for (Rule rule : candidates) {
+            evaluations.increment();
+            long key = key(userId, rule.achievementId());
+            if (held.contains(key) || queued.contains(key)) continue;
+
+            if (rule.pointsRequired() != null && pointsRankIndex.points(userId) < rule.pointsRequired()) continue;
+            if (rule.actionCountRequired() != null) {
+                UserActivityEvent.Activity activity = UserActivityEvent.Activity.countedBy(rule.type());
+                if (activity == null || activityCounts.get(userId, activity.ordinal()) < rule.actionCountRequired()) {
+                    continue;
+                }
+            }
+            queued.add(key);
+        }
+    }
+
+    private void flush() {
+        while (true) {
+            List<int[]> batch = new ArrayList<>(batchSize);
+            synchronized (this) {
+                Iterator<Long> iterator = queued.iterator();
+                while (iterator.hasNext() && batch.size() < batchSize) {
+                    long key = iterator.next();
+                    batch.add(new int[]{(int) (key >>> 32), (int) key});
+                }
+            }
+            if (batch.isEmpty()) return;
+
+            List<int[]> inserted;
+            try {
+                inserted = achievementService.awardBatch(batch);
+                awarded.add(inserted.size());
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                System.err.println("[ACHIEVEMENTS] Award batch of " + batch.size() + " failed: " + e.getMessage());
+                return;
+            }
+
+            // Pairs that were not inserted (inactive achievement, deleted user, already held) leave the queue
+            // without being marked held, so a later crossing can still queue them.
+            synchronized (this) {
+                for (int[] award : batch) {
+                    queued.remove(key(award[0], award[1]));
+                }
+                for (int[] award : inserted) {
+                    held.add(key(award[0], award[1]));
+                }
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rules", rules.size);
+        stats.put("queuedAwards", queued.size());
+        stats.put("evaluations", evaluations.sum());
+        stats.put("awarded", awarded.sum());
+        stats.put("failedBatches", failedBatches.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        flush();
+    }
+
+    private static Achievement.AchievementType typeOf(UserActivityEvent.Activity activity) {
+        return switch (activity) {
+            case POST -> Achievement.AchievementType.POST_COUNT;
+            case COMMENT -> Achievement.AchievementType.COMMENT_COUNT;
+            case LIKE_RECEIVED -> Achievement.AchievementType.LIKE_COUNT;
+        };
+    }
+
+    private static long key(int userId, int achievementId) {
+        return ((long) userId << 32) | (achievementId & 0xFFFFFFFFL);
+    }
+
+    private record Rule(int achievementId, Achievement.AchievementType type,
+                        Integer pointsRequired, Integer actionCountRequired) {}
+
+    // Immutable per-type threshold arrays, swapped as a whole when the catalog changes.
+    private static final class Rules {
+
+        private final Thresholds[] byAction = new Thresholds[TYPES.length];
+        private final Thresholds[] byPoints = new Thresholds[TYPES.length];
+        private final int size;
+
+        private Rules(List<Rule> rules) {
+            for (Achievement.AchievementType type : TYPES) {
+                List<Rule> ofType = rules.stream().filter(rule -> rule.type() == type).toList();
+                boolean counted = UserActivityEvent.Activity.countedBy(type) != null;
+                byAction[type.ordinal()] = new Thresholds(ofType.stream()
+                        .filter(rule -> counted && rule.actionCountRequired() != null).toList(),
+                        Rule::actionCountRequired);
+                byPoints[type.ordinal()] = new Thresholds(ofType.stream()
+                        .filter(rule -> rule.pointsRequired() != null).toList(),
+                        Rule::pointsRequired);
+            }
+            this.size = rules.size();
+        }
+    }
+
+    private static final class Thresholds {
+
+        private final int[] values;
+        private final Rule[] rules;
+
+        private Thresholds(List<Rule> rules, ToIntFunction<Rule> threshold) {
+            List<Rule> sorted = new ArrayList<>(rules);
+            sorted.sort(Comparator.comparingInt(threshold));
+            this.rules = sorted.toArray(new Rule[0]);
+            this.values = sorted.stream().mapToInt(threshold).toArray();
+        }
+
+        // Rules whose threshold lies in (before, after].
+        private List<Rule> crossed(int before, int after) {
+            int from = upperBound(before);
+            int to = upperBound(after);
+            return from >= to ? List.of() : Arrays.asList(rules).subList(from, to);
+        }
+
+        private int upperBound(int value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
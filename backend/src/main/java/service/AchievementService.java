@@ -1,32 +1,59 @@
 package service;
 
 import models.Achievement;
+import models.AchievementAwardedEvent;
+import models.AchievementRevokedEvent;
+import models.AchievementsChangedEvent;
 import models.ResultError;
+import models.UserAchievement;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import repository.AchievementRepository;
+import repository.UserAchievementRepository;
 
-import java.util.List;
-import java.util.Optional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 public class AchievementService {
 
     private final AchievementRepository achievementRepository;
+    private final AchievementCatalog achievementCatalog;
+    private final UserAchievementRepository userAchievementRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AchievementService(AchievementRepository achievementRepository) {
+    public AchievementService(AchievementRepository achievementRepository,
+                              AchievementCatalog achievementCatalog,
+                              UserAchievementRepository userAchievementRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher) {
         this.achievementRepository = achievementRepository;
+        this.achievementCatalog = achievementCatalog;
+        this.userAchievementRepository = userAchievementRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Achievement> getAllAchievements() {
-        return achievementRepository.findAll();
+        return achievementCatalog.all();
     }
 
     public Optional<Achievement> getAchievementById(int id) {
-        return achievementRepository.findById(id);
+        return achievementCatalog.get(id);
     }
 
     public ResultError createAchievement(Achievement achievement) {
         achievementRepository.save(achievement);
+        eventPublisher.publishEvent(new AchievementsChangedEvent(achievement.getId()));
         return new ResultError(true, "Achievement created successfully");
     }
 
@@ -35,16 +62,178 @@ public class AchievementService {
         if (achievementOpt.isEmpty()) return new ResultError(false, "Achievement not found");
 
         Achievement existingAchievement = achievementOpt.get();
+        if (updatedAchievement.getName() != null
+                && achievementRepository.existsByNameAndIdNot(updatedAchievement.getName(), achievementId)) {
+            return new ResultError(false, "An achievement with this name already exists");
+        }
 
-        achievementRepository.save(existingAchievement);
-        return new ResultError(true, "Achievement updated successfully");
+        Achievement.AchievementType oldType = existingAchievement.getType();
+        Achievement.BadgeTier oldTier = existingAchievement.getTier();
+        ResultError res = existingAchievement.updateAchievement(updatedAchievement);
+        if (!res.isSuccess()) return res;
+
+        boolean regrouped = oldType != existingAchievement.getType() || oldTier != existingAchievement.getTier();
+        List<Integer> holders = transactionTemplate.execute(status -> {
+            achievementRepository.save(existingAchievement);
+            if (!regrouped) return List.<Integer>of();
+
+            int tierDelta = existingAchievement.getBadgeRank() - oldTier.getRank();
+            if (tierDelta != 0) {
+                jdbcTemplate.update(
+                        "UPDATE users SET tier_score = tier_score + ? " +
+                                "WHERE id IN (SELECT user_id FROM user_achievements WHERE achievement_id = ?)",
+                        tierDelta, achievementId);
+            }
+            return jdbcTemplate.queryForList(
+                    "SELECT user_id FROM user_achievements WHERE achievement_id = ?", Integer.class, achievementId);
+        });
+
+        eventPublisher.publishEvent(new AchievementsChangedEvent(achievementId));
+        // Holders move between type/tier groups: replay as revoke under the old grouping and award under the new.
+        for (int userId : holders) {
+            eventPublisher.publishEvent(new AchievementRevokedEvent(userId, achievementId, oldType, oldTier));
+            eventPublisher.publishEvent(new AchievementAwardedEvent(
+                    userId, achievementId, existingAchievement.getType(), existingAchievement.getTier()));
+        }
+        return res;
     }
 
     public ResultError deleteAchievement(int achievementId) {
         Optional<Achievement> achievementOpt = achievementRepository.findById(achievementId);
         if (achievementOpt.isEmpty()) return new ResultError(false, "Achievement not found");
 
-        achievementRepository.delete(achievementOpt.get());
+        Achievement achievement = achievementOpt.get();
+        List<Integer> holders = transactionTemplate.execute(status -> {
+            List<Integer> userIds = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM user_achievements WHERE achievement_id = ?", Integer.class, achievementId);
+            jdbcTemplate.update(
+                    "UPDATE users SET achievement_count = achievement_count - 1, tier_score = tier_score - ? " +
+                            "WHERE id IN (SELECT user_id FROM user_achievements WHERE achievement_id = ?)",
+                    achievement.getBadgeRank(), achievementId);
+            jdbcTemplate.update("DELETE FROM user_achievements WHERE achievement_id = ?", achievementId);
+            achievementRepository.delete(achievement);
+            return userIds;
+        });
+
+        eventPublisher.publishEvent(new AchievementsChangedEvent(achievementId));
+        for (int userId : holders) {
+            eventPublisher.publishEvent(
+                    new AchievementRevokedEvent(userId, achievementId, achievement.getType(), achievement.getTier()));
+        }
         return new ResultError(true, "Achievement deleted successfully");
     }
-}
\ No newline at end of file
+
+    public List<UserAchievement> getUserAchievements(int userId) {
+        return userAchievementRepository.findByUserIdOrderByAwardedAtAsc(userId);
+    }
+
+    public ResultError awardAchievement(int userId, int achievementId) {
+        Optional<Achievement> achievementOpt = achievementCatalog.getActive(achievementId);
+        if (achievementOpt.isEmpty()) return new ResultError(false, "Achievement not found");
+
+        Achievement achievement = achievementOpt.get();
+        int tierRank = achievement.getBadgeRank();
+        try {
+            Boolean awarded = transactionTemplate.execute(status -> {
+                int updated = jdbcTemplate.update(
+                        "UPDATE users SET achievement_count = achievement_count + 1, tier_score = tier_score + ? " +
+                                "WHERE id = ?",
+                        tierRank, userId);
+                if (updated == 0) return false;
+
+                jdbcTemplate.update(
+                        "INSERT INTO user_achievements (user_id, achievement_id, awarded_at) VALUES (?, ?, ?)",
+                        userId, achievementId, Timestamp.valueOf(LocalDateTime.now()));
+                return true;
+            });
+            if (!Boolean.TRUE.equals(awarded)) return new ResultError(false, "User not found");
+        } catch (DataIntegrityViolationException e) {
+            return new ResultError(false, "Achievement already awarded");
+        }
+
+        eventPublisher.publishEvent(
+                new AchievementAwardedEvent(userId, achievementId, achievement.getType(), achievement.getTier()));
+        return new ResultError(true, "Achievement awarded successfully");
+    }
+
+    // Awards many (userId, achievementId) pairs in one transaction. User rows are locked in id order first, like
+    // awardAchievement, and pairs that are already held are skipped. Returns the pairs actually inserted.
+    public List<int[]> awardBatch(List<int[]> awards) {
+        if (awards.isEmpty()) return List.of();
+
+        Map<Integer, Achievement> achievements = new HashMap<>();
+        for (int[] award : awards) {
+            achievementCatalog.getActive(award[1]).ifPresent(achievement -> achievements.put(award[1], achievement));
+        }
+        List<int[]> eligible = awards.stream().filter(award -> achievements.containsKey(award[1])).toList();
+        if (eligible.isEmpty()) return List.of();
+
+        Timestamp awardedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<int[]> inserted = transactionTemplate.execute(status -> {
+            List<Integer> userIds = eligible.stream().map(award -> award[0]).distinct().sorted().toList();
+            String in = String.join(",", Collections.nCopies(userIds.size(), "?"));
+            jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (" + in + ") ORDER BY id FOR UPDATE",
+                    Integer.class, userIds.toArray());
+
+            int[][] counts = jdbcTemplate.batchUpdate(
+                    "INSERT INTO user_achievements (user_id, achievement_id, awarded_at) " +
+                            "SELECT u.id, ?, ? FROM users u WHERE u.id = ? AND NOT EXISTS " +
+                            "(SELECT 1 FROM user_achievements ua WHERE ua.user_id = u.id AND ua.achievement_id = ?)",
+                    eligible, eligible.size(), (ps, award) -> {
+                        ps.setInt(1, award[1]);
+                        ps.setTimestamp(2, awardedAt);
+                        ps.setInt(3, award[0]);
+                        ps.setInt(4, award[1]);
+                    });
+
+            List<int[]> written = new ArrayList<>();
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    if (count > 0) written.add(eligible.get(index));
+                    index++;
+                }
+            }
+
+            jdbcTemplate.batchUpdate(
+                    "UPDATE users SET achievement_count = achievement_count + 1, tier_score = tier_score + ? WHERE id = ?",
+                    written, written.size(), (ps, award) -> {
+                        ps.setInt(1, achievements.get(award[1]).getBadgeRank());
+                        ps.setInt(2, award[0]);
+                    });
+            return written;
+        });
+
+        for (int[] award : inserted) {
+            Achievement achievement = achievements.get(award[1]);
+            eventPublisher.publishEvent(
+                    new AchievementAwardedEvent(award[0], award[1], achievement.getType(), achievement.getTier()));
+        }
+        return inserted;
+    }
+
+    public ResultError revokeAchievement(int userId, int achievementId) {
+        Optional<Achievement> achievementOpt = achievementCatalog.get(achievementId);
+        if (achievementOpt.isEmpty()) return new ResultError(false, "Achievement not found");
+
+        Achievement achievement = achievementOpt.get();
+        int tierRank = achievement.getBadgeRank();
+        Boolean revoked = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM users WHERE id = ? FOR UPDATE", Integer.class, userId);
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM user_achievements WHERE user_id = ? AND achievement_id = ?", userId, achievementId);
+            if (deleted == 0) return false;
+
+            jdbcTemplate.update(
+                    "UPDATE users SET achievement_count = achievement_count - 1, tier_score = tier_score - ? " +
+                            "WHERE id = ?",
+                    tierRank, userId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(revoked)) return new ResultError(false, "Achievement not awarded to user");
+
+        eventPublisher.publishEvent(
+                new AchievementRevokedEvent(userId, achievementId, achievement.getType(), achievement.getTier()));
+        return new ResultError(true, "Achievement revoked successfully");
+    }
+}
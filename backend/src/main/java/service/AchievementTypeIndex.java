@@ -0,0 +1,60 @@
+package service;
+
+import models.Achievement;
+import models.AchievementAwardedEvent;
+import models.AchievementRevokedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import utils.IntCountMatrix;
+
+// Per-user badge counts for each AchievementType in an IntCountMatrix (one column per type ordinal), loaded from
+// user_achievements at startup and moved by award/revoke events. Each type leaderboard is a top-K heap over one
+// column; only achievements active at load or award time are counted.
+@Component
+public class AchievementTypeIndex {
+
+    private static final Achievement.AchievementType[] TYPES = Achievement.AchievementType.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IntCountMatrix counts = new IntCountMatrix(TYPES.length, 1024);
+    private boolean loaded;
+
+    public AchievementTypeIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        counts.clear();
+        jdbcTemplate.query(
+                "SELECT ua.user_id, a.type FROM user_achievements ua JOIN achievements a ON a.id = ua.achievement_id " +
+                        "WHERE a.is_active = true",
+                rs -> {
+                    counts.addTo(rs.getInt(1), Achievement.AchievementType.valueOf(rs.getString(2)).ordinal(), 1);
+                });
+        loaded = true;
+    }
+
+    @EventListener
+    public synchronized void onAwarded(AchievementAwardedEvent event) {
+        if (!loaded) return;
+        counts.addTo(event.userId(), event.type().ordinal(), 1);
+    }
+
+    @EventListener
+    public synchronized void onRevoked(AchievementRevokedEvent event) {
+        if (!loaded) return;
+        counts.addTo(event.userId(), event.type().ordinal(), -1);
+    }
+
+    // {user ids, counts}, count desc then user id asc.
+    public synchronized int[][] top(Achievement.AchievementType type, int k) {
+        return counts.top(type.ordinal(), k);
+    }
+
+    public synchronized int count(int userId, Achievement.AchievementType type) {
+        return counts.get(userId, type.ordinal());
+    }
+}
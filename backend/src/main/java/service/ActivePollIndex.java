@@ -0,0 +1,34 @@
+package service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ActivePollIndex {
+
+    private final Set<Integer> activePolls = ConcurrentHashMap.newKeySet();
+
+    public boolean isActive(int pollId) {
+        return activePolls.contains(pollId);
+    }
+
+    public List<Integer> activePollIds() {
+        return new ArrayList<>(activePolls);
+    }
+
+    public int size() {
+        return activePolls.size();
+    }
+
+    void add(int pollId) {
+        activePolls.add(pollId);
+    }
+
+    void remove(int pollId) {
+        activePolls.remove(pollId);
+    }
+}
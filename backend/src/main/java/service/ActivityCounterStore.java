@@ -0,0 +1,224 @@
+package service;
+
+import jakarta.annotation.PreDestroy;
+import models.UserActivityEvent;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Per-user post/comment/like counters in user_activity_counters. Increments only touch a LongAdder per
+// (user, counter type); a scheduled flush moves the pending deltas into the table with batched upserts. Reads
+// add the pending delta to the persisted value, and hold the read side of a lock the flush takes while it moves a
+// delta from memory to the table, so a value is never counted twice or missed mid-flush. Drained adders are
+// removed, so only users active since the last flush are kept in memory.
+@Service
+public class ActivityCounterStore implements SmartInitializingSingleton {
+
+    private static final UserActivityEvent.Activity[] ACTIVITIES = UserActivityEvent.Activity.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private final LongAdder flushedDeltas = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    public ActivityCounterStore(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${activity.counters.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // Runs once every singleton (and so the schema) exists, but before the web server accepts requests and before
+    // the scheduled flush is registered. No increment can be pending or flushed yet, so an empty table really
+    // means "never seeded" and the seed cannot count an activity that is also waiting in memory.
+    @Override
+    public void afterSingletonsInstantiated() {
+        seedIfEmpty();
+    }
+
+    // Seeds the table from blog_posts, comments and post_likes the first time it runs against an existing
+    // database.
+    private void seedIfEmpty() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_activity_counters", Integer.class);
+        if (rows != null && rows > 0) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(
+                    "INSERT INTO user_activity_counters (user_id, counter_type, counter_value) " +
+                            "SELECT author_id, 'POST', COUNT(*) FROM blog_posts GROUP BY author_id");
+            jdbcTemplate.update(
+                    "INSERT INTO user_activity_counters (user_id, counter_type, counter_value) " +
+                            "SELECT author_id, 'COMMENT', COUNT(*) FROM comments WHERE author_id IS NOT NULL " +
+                            "GROUP BY author_id");
+            jdbcTemplate.update(
+                    "INSERT INTO user_activity_counters (user_id, counter_type, counter_value) " +
+                            "SELECT p.author_id, 'LIKE_RECEIVED', COUNT(*) FROM post_likes l " +
+                            "JOIN blog_posts p ON p.id = l.post_id GROUP BY p.author_id");
+        });
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onActivity(UserActivityEvent event) {
+        increment(event.userId(), event.activity(), event.delta());
+    }
+
+    public void increment(int userId, UserActivityEvent.Activity activity, long delta) {
+        if (delta == 0) return;
+        // Adds inside the map's bin lock, so flush cannot drop the adder between the lookup and the add.
+        pending.compute(key(userId, activity), (k, adder) -> {
+            LongAdder counter = adder != null ? adder : new LongAdder();
+            counter.add(delta);
+            return counter;
+        });
+    }
+
+    public long get(int userId, UserActivityEvent.Activity activity) {
+        return get(userId).get(activity);
+    }
+
+    public EnumMap<UserActivityEvent.Activity, Long> get(int userId) {
+        EnumMap<UserActivityEvent.Activity, Long> counters = new EnumMap<>(UserActivityEvent.Activity.class);
+        flushLock.readLock().lock();
+        try {
+            for (UserActivityEvent.Activity activity : ACTIVITIES) {
+                LongAdder delta = pending.get(key(userId, activity));
+                counters.put(activity, delta == null ? 0 : delta.sum());
+            }
+            jdbcTemplate.query(
+                    "SELECT counter_type, counter_value FROM user_activity_counters WHERE user_id = ?",
+                    rs -> {
+                        UserActivityEvent.Activity activity = UserActivityEvent.Activity.valueOf(rs.getString(1));
+                        counters.merge(activity, rs.getLong(2), Long::sum);
+                    },
+                    userId);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return counters;
+    }
+
+    // One counter for many users, in the order of userIds.
+    public long[] get(UserActivityEvent.Activity activity, int[] userIds) {
+        long[] values = new long[userIds.length];
+        if (userIds.length == 0) return values;
+
+        Map<Integer, Integer> positions = new HashMap<>();
+        Object[] args = new Object[userIds.length + 1];
+        args[0] = activity.name();
+        for (int i = 0; i < userIds.length; i++) {
+            positions.put(userIds[i], i);
+            args[i + 1] = userIds[i];
+        }
+        String in = String.join(",", Collections.nCopies(userIds.length, "?"));
+
+        flushLock.readLock().lock();
+        try {
+            for (int i = 0; i < userIds.length; i++) {
+                LongAdder delta = pending.get(key(userIds[i], activity));
+                if (delta != null) values[i] = delta.sum();
+            }
+            jdbcTemplate.query(
+                    "SELECT user_id, counter_value FROM user_activity_counters " +
+                            "WHERE counter_type = ? AND user_id IN (" + in + ")",
+                    rs -> {
+                        values[positions.get(rs.getInt(1))] += rs.getLong(2);
+                    },
+                    args);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return values;
+    }
+
+    // Flushes, then streams every persisted counter. Increments made during the scan are not included.
+    public void forEach(CounterConsumer consumer) {
+        flush();
+        flushLock.readLock().lock();
+        try {
+            jdbcTemplate.query("SELECT user_id, counter_type, counter_value FROM user_activity_counters", rs -> {
+                consumer.accept(rs.getInt(1), UserActivityEvent.Activity.valueOf(rs.getString(2)), rs.getLong(3));
+            });
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${activity.counters.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            List<Object[]> deltas = new ArrayList<>();
+            pending.forEach((key, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    adder.add(-delta);
+                    deltas.add(new Object[]{(int) (key >>> 32), ACTIVITIES[(int) (key & 0xFFFFFFFFL)].name(), delta});
+                }
+                pending.computeIfPresent(key, (k, drained) -> drained.sum() == 0 ? null : drained);
+            });
+            if (deltas.isEmpty()) return;
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "INSERT INTO user_activity_counters (user_id, counter_type, counter_value) VALUES (?, ?, ?) " +
+                                "ON DUPLICATE KEY UPDATE counter_value = counter_value + VALUES(counter_value)",
+                        deltas, batchSize, (ps, delta) -> {
+                            ps.setInt(1, (int) delta[0]);
+                            ps.setString(2, (String) delta[1]);
+                            ps.setLong(3, (long) delta[2]);
+                        }));
+                flushedDeltas.add(deltas.size());
+            } catch (RuntimeException e) {
+                for (Object[] delta : deltas) {
+                    increment((int) delta[0], UserActivityEvent.Activity.valueOf((String) delta[1]), (long) delta[2]);
+                }
+                failedFlushes.increment();
+                System.err.println("[ACTIVITY] Counter flush of " + deltas.size() + " deltas failed: " + e.getMessage());
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedCounters", pending.size());
+        stats.put("flushedDeltas", flushedDeltas.sum());
+        stats.put("failedFlushes", failedFlushes.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static long key(int userId, UserActivityEvent.Activity activity) {
+        return ((long) userId << 32) | activity.ordinal();
+    }
+
+    @FunctionalInterface
+    public interface CounterConsumer {
+        void accept(int userId, UserActivityEvent.Activity activity, long value);
+    }
+}
@@ -2,6 +2,8 @@ package service;
 
 import models.ResultError;
 import models.User;
+import models.UserRegisteredEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import repository.UserRepository;
 import utils.JwtUtil;
@@ -14,10 +16,12 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AuthService(UserRepository userRepository, JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, JwtUtil jwtUtil, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
+        this.eventPublisher = eventPublisher;
     }
 
     public ResultError register(String name, String email, String password) {
@@ -41,6 +45,7 @@ public class AuthService {
         user.setVerified(false);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(user.getId()));
 
         return new ResultError(true, "Registered successfully. Verification code: " + user.getVerificationCode());
     }
@@ -0,0 +1,104 @@
+package service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import models.BlogPost;
+import models.PostSummary;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class BlogFeedService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogFeedService(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Fills the feed columns for posts written before they existed; later posts keep them current themselves.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillFeedColumns() {
+        int likes = jdbcTemplate.update(
+                "UPDATE blog_posts p SET like_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id) " +
+                        "WHERE p.like_count IS NULL");
+        int comments = jdbcTemplate.update(
+                "UPDATE blog_posts p SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id) " +
+                        "WHERE p.comment_count IS NULL");
+
+        List<Object[]> excerpts = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, content FROM blog_posts WHERE excerpt IS NULL", rs -> {
+            excerpts.add(new Object[]{BlogPost.excerptOf(rs.getString(2)), rs.getInt(1)});
+        });
+        jdbcTemplate.batchUpdate("UPDATE blog_posts SET excerpt = ? WHERE id = ?", excerpts);
+
+        if (likes + comments + excerpts.size() > 0) {
+            System.out.println("[FEED] Backfilled like counts for " + likes + ", comment counts for " + comments
+                    + " and excerpts for " + excerpts.size() + " posts");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> listPosts(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new models.PostSummary(p.id, p.title, p.excerpt, p.createdAt, a.id, a.name, " +
+                        "COALESCE(p.likeCount, 0), COALESCE(p.commentCount, 0)) FROM BlogPost p JOIN p.author a");
+        if (after != null) {
+            jpql.append(" WHERE p.createdAt < :cursorCreated OR (p.createdAt = :cursorCreated AND p.id < :cursorId)");
+        }
+        jpql.append(" ORDER BY p.createdAt DESC, p.id DESC");
+
+        TypedQuery<PostSummary> query = entityManager.createQuery(jpql.toString(), PostSummary.class);
+        if (after != null) {
+            query.setParameter("cursorCreated", after.createdAt());
+            query.setParameter("cursorId", after.id());
+        }
+        query.setMaxResults(pageSize + 1);
+
+        List<PostSummary> rows = new ArrayList<>(query.getResultList());
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", rows);
+        page.put("nextCursor", hasMore ? PageCursor.encode(rows.get(rows.size() - 1)) : null);
+        return page;
+    }
+
+    private record PageCursor(LocalDateTime createdAt, int id) {
+
+        private static String encode(PostSummary row) {
+            String raw = row.createdAt() + "|" + row.id();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static PageCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) return null;
+
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Integer.parseInt(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import models.BlogPost;
 import models.Comments;
 import models.ResultError;
 import models.User;
+import models.UserActivityEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import repository.BlogPostRepository;
 import repository.UserRepository;
@@ -16,10 +18,13 @@ public class BlogPostService {
 
     private final BlogPostRepository blogPostRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BlogPostService(BlogPostRepository blogPostRepository, UserRepository userRepository) {
+    public BlogPostService(BlogPostRepository blogPostRepository, UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.blogPostRepository = blogPostRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<BlogPost> getAllPosts() {
@@ -36,12 +41,17 @@ public class BlogPostService {
     }
 
     public ResultError createPost(BlogPost post) {
-        blogPostRepository.save(post);
+        savePost(post);
         return new ResultError(true, "Post created successfully");
     }
 
     public BlogPost savePost(BlogPost post) {
-        return blogPostRepository.save(post);
+        boolean created = post.getId() == 0;
+        BlogPost saved = blogPostRepository.save(post);
+        if (created && saved.getAuthor() != null) {
+            publishActivity(saved.getAuthor(), UserActivityEvent.Activity.POST, 1);
+        }
+        return saved;
     }
 
     public ResultError toggleLikeByEmail(int postId, String email) {
@@ -52,10 +62,7 @@ public class BlogPostService {
                 .orElse(null);
         if (user == null) return new ResultError(false, "User not found");
 
-        BlogPost post = postOpt.get();
-        ResultError res = post.toggleLike(user);
-        blogPostRepository.save(post);
-        return res;
+        return toggleLike(postOpt.get(), user);
     }
 
     public ResultError editPost(int postId, String newContent) {
@@ -75,23 +82,48 @@ public class BlogPostService {
         BlogPost post = postOpt.get();
 
         ResultError res = post.addComment(comment);
+        if (!res.isSuccess()) return res;
 
+        blogPostRepository.save(post);
+        blogPostRepository.adjustCommentCount(postId, 1);
+        publishActivity(comment.getAuthor(), UserActivityEvent.Activity.COMMENT, 1);
         return res;
     }
 
     public ResultError toggleLike(int postId, User user) {
         Optional<BlogPost> postOpt = blogPostRepository.findById(postId);
         if (postOpt.isEmpty()) return new ResultError(false, "Post not found");
-        BlogPost post = postOpt.get();
+        return toggleLike(postOpt.get(), user);
+    }
+
+    private ResultError toggleLike(BlogPost post, User user) {
+        boolean wasLiked = post.isLikedBy(user.getId());
         ResultError res = post.toggleLike(user);
         blogPostRepository.save(post);
+        blogPostRepository.adjustLikeCount(post.getId(), wasLiked ? -1 : 1);
+        publishActivity(post.getAuthor(), UserActivityEvent.Activity.LIKE_RECEIVED, wasLiked ? -1 : 1);
         return res;
     }
 
     public ResultError deletePost(int postId) {
         Optional<BlogPost> postOpt = blogPostRepository.findById(postId);
         if (postOpt.isEmpty()) return new ResultError(false, "Post not found");
-        blogPostRepository.delete(postOpt.get());
+
+        BlogPost post = postOpt.get();
+        int likes = post.getLikedBy().size();
+        List<Comments> comments = List.copyOf(post.getComments());
+        blogPostRepository.delete(post);
+
+        publishActivity(post.getAuthor(), UserActivityEvent.Activity.POST, -1);
+        publishActivity(post.getAuthor(), UserActivityEvent.Activity.LIKE_RECEIVED, -likes);
+        for (Comments comment : comments) {
+            publishActivity(comment.getAuthor(), UserActivityEvent.Activity.COMMENT, -1);
+        }
         return new ResultError(true, "Post deleted");
     }
+
+    private void publishActivity(User user, UserActivityEvent.Activity activity, int delta) {
+        if (user == null || delta == 0) return;
+        eventPublisher.publishEvent(new UserActivityEvent(user.getId(), activity, delta));
+    }
 }
\ No newline at end of file
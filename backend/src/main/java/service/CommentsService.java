@@ -4,6 +4,8 @@ import models.BlogPost;
 import models.Comments;
 import models.ResultError;
 import models.User;
+import models.UserActivityEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import repository.BlogPostRepository;
@@ -17,10 +19,13 @@ public class CommentsService {
 
     private final CommentsRepository commentsRepository;
     private final BlogPostRepository blogPostRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentsService(CommentsRepository commentsRepository, BlogPostRepository blogPostRepository) {
+    public CommentsService(CommentsRepository commentsRepository, BlogPostRepository blogPostRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.commentsRepository = commentsRepository;
         this.blogPostRepository = blogPostRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Comments> getAllComments() {
@@ -46,6 +51,8 @@ public class CommentsService {
         comment.setPost(post);
 
         commentsRepository.save(comment);
+        blogPostRepository.adjustCommentCount(post.getId(), 1);
+        publishActivity(comment.getAuthor(), 1);
         return new ResultError(true, "Comment added successfully");
     }
 
@@ -79,10 +86,12 @@ public class CommentsService {
                 BlogPost post = comment.getPost();
                 post.getComments().remove(comment);
                 blogPostRepository.save(post);
+                blogPostRepository.adjustCommentCount(post.getId(), -1);
             }
 
             commentsRepository.delete(comment);
             commentsRepository.flush();
+            publishActivity(comment.getAuthor(), -1);
 
             boolean stillExists = commentsRepository.existsById(commentId);
 
@@ -92,4 +101,9 @@ public class CommentsService {
             return new ResultError(false, "Error deleting comment: " + e.getMessage());
         }
     }
+
+    private void publishActivity(User author, int delta) {
+        if (author == null) return;
+        eventPublisher.publishEvent(new UserActivityEvent(author.getId(), UserActivityEvent.Activity.COMMENT, delta));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,298 @@
+package service;
+
+import jakarta.annotation.PreDestroy;
+import models.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import repository.PollRepository;
+import utils.VoterBitmap;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Polls whose vote rate crosses the promote threshold get a single-writer mailbox: one dedicated thread owns the
+// poll's option/voter state and validates its votes sequentially without locks or per-vote entity loads, handing
+// accepted votes to the group-commit pipeline. Commit outcomes come back as mailbox messages, so the state is only
+// ever touched by that thread. Polls that stay below the demote threshold for a few intervals are retired.
+@Service
+public class HotPollRouter {
+
+    private final PollRepository pollRepository;
+    private final ActivePollIndex activePollIndex;
+    private final VoterBitmapWriteBehind voterBitmapWriteBehind;
+    private final VoteIngestionPipeline voteIngestionPipeline;
+
+    private final long evaluateIntervalMs;
+    private final double promoteRate;
+    private final double demoteRate;
+    private final int cooldownIntervals;
+    private final int maxHotPolls;
+    private final int mailboxCapacity;
+
+    private volatile Map<Integer, LongAdder> window = new ConcurrentHashMap<>();
+    private final Map<Integer, HotPoll> hotPolls = new ConcurrentHashMap<>();
+
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+    private final LongAdder routedVotes = new LongAdder();
+    private final LongAdder mailboxRejections = new LongAdder();
+
+    public HotPollRouter(PollRepository pollRepository,
+                         ActivePollIndex activePollIndex,
+                         VoterBitmapWriteBehind voterBitmapWriteBehind,
+                         VoteIngestionPipeline voteIngestionPipeline,
+                         @Value("${polls.hot.evaluate-interval-ms:1000}") long evaluateIntervalMs,
+                         @Value("${polls.hot.promote-votes-per-second:50}") double promoteRate,
+                         @Value("${polls.hot.demote-votes-per-second:10}") double demoteRate,
+                         @Value("${polls.hot.cooldown-intervals:5}") int cooldownIntervals,
+                         @Value("${polls.hot.max-hot-polls:8}") int maxHotPolls,
+                         @Value("${polls.hot.mailbox-capacity:10000}") int mailboxCapacity) {
+        this.pollRepository = pollRepository;
+        this.activePollIndex = activePollIndex;
+        this.voterBitmapWriteBehind = voterBitmapWriteBehind;
+        this.voteIngestionPipeline = voteIngestionPipeline;
+        this.evaluateIntervalMs = evaluateIntervalMs;
+        this.promoteRate = promoteRate;
+        this.demoteRate = demoteRate;
+        this.cooldownIntervals = cooldownIntervals;
+        this.maxHotPolls = maxHotPolls;
+        this.mailboxCapacity = mailboxCapacity;
+    }
+
+    public CompletableFuture<ResultError> trySubmit(int pollId, int optionId, int userId, int betAmount) {
+        window.computeIfAbsent(pollId, id -> new LongAdder()).increment();
+
+        HotPoll hotPoll = hotPolls.get(pollId);
+        if (hotPoll == null) return null;
+
+        CompletableFuture<ResultError> result = hotPoll.offer(optionId, userId, betAmount);
+        if (result != null) {
+            routedVotes.increment();
+        }
+        return result;
+    }
+
+    @Scheduled(fixedRateString = "${polls.hot.evaluate-interval-ms:1000}")
+    public void evaluate() {
+        Map<Integer, LongAdder> counts = window;
+        window = new ConcurrentHashMap<>();
+        double seconds = evaluateIntervalMs / 1000.0;
+
+        for (HotPoll hotPoll : hotPolls.values()) {
+            LongAdder count = counts.get(hotPoll.pollId);
+            double rate = count == null ? 0 : count.sum() / seconds;
+            hotPoll.rate = rate;
+
+            if (rate >= demoteRate) {
+                hotPoll.quietIntervals = 0;
+            } else if (++hotPoll.quietIntervals >= cooldownIntervals) {
+                demote(hotPoll.pollId);
+            }
+        }
+
+        counts.forEach((pollId, count) -> {
+            double rate = count.sum() / seconds;
+            if (rate >= promoteRate && hotPolls.size() < maxHotPolls && !hotPolls.containsKey(pollId)) {
+                promote(pollId, rate);
+            }
+        });
+    }
+
+    @EventListener
+    public void onPollClosed(PollClosedEvent event) {
+        demote(event.pollId());
+    }
+
+    @EventListener
+    public void onPollUpdated(PollUpdatedEvent event) {
+        demote(event.pollId());
+    }
+
+    @EventListener
+    public void onPollDeleted(PollDeletedEvent event) {
+        demote(event.pollId());
+    }
+
+    private void promote(int pollId, double rate) {
+        HotPoll hotPoll = new HotPoll(pollId);
+        hotPoll.rate = rate;
+        hotPolls.put(pollId, hotPoll);
+        hotPoll.thread.start();
+        promotions.increment();
+        System.out.println("[HOT] Poll " + pollId + " promoted to single-writer mode at " + Math.round(rate) + " votes/s");
+    }
+
+    private void demote(int pollId) {
+        HotPoll hotPoll = hotPolls.remove(pollId);
+        if (hotPoll == null) return;
+
+        hotPoll.retiring = true;
+        demotions.increment();
+        System.out.println("[HOT] Poll " + pollId + " returned to shared mode");
+    }
+
+    public Map<String, Object> getStats() {
+        List<Map<String, Object>> polls = new ArrayList<>();
+        for (HotPoll hotPoll : hotPolls.values()) {
+            Map<String, Object> poll = new LinkedHashMap<>();
+            poll.put("pollId", hotPoll.pollId);
+            poll.put("votesPerSecond", hotPoll.rate);
+            poll.put("queuedVotes", hotPoll.queuedVotes.get());
+            poll.put("appliedVotes", hotPoll.appliedVotes.sum());
+            polls.add(poll);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("promoteVotesPerSecond", promoteRate);
+        stats.put("demoteVotesPerSecond", demoteRate);
+        stats.put("maxHotPolls", maxHotPolls);
+        stats.put("promotions", promotions.sum());
+        stats.put("demotions", demotions.sum());
+        stats.put("routedVotes", routedVotes.sum());
+        stats.put("mailboxRejections", mailboxRejections.sum());
+        stats.put("hotPolls", polls);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        new ArrayList<>(hotPolls.keySet()).forEach(this::demote);
+    }
+
+    private record HotVote(int optionId, int userId, int betAmount, CompletableFuture<ResultError> result) {}
+
+    private record Committed(int optionId, int userId, boolean accepted) {}
+
+    private final class HotPoll implements Runnable {
+
+        private final int pollId;
+        private final Thread thread;
+        private final BlockingQueue<Object> mailbox = new LinkedBlockingQueue<>();
+        private final AtomicInteger queuedVotes = new AtomicInteger();
+        private final LongAdder appliedVotes = new LongAdder();
+
+        private volatile boolean retiring;
+        private volatile double rate;
+        private int quietIntervals;
+
+        private Map<Integer, VoterBitmap> voters;
+        private final Set<Long> submitted = new HashSet<>();
+
+        private HotPoll(int pollId) {
+            this.pollId = pollId;
+            this.thread = new Thread(this, "hot-poll-" + pollId);
+            this.thread.setDaemon(true);
+        }
+
+        private CompletableFuture<ResultError> offer(int optionId, int userId, int betAmount) {
+            if (queuedVotes.incrementAndGet() > mailboxCapacity) {
+                queuedVotes.decrementAndGet();
+                mailboxRejections.increment();
+                return CompletableFuture.completedFuture(new ResultError(false, "Too many votes right now, please retry"));
+            }
+            if (retiring) {
+                queuedVotes.decrementAndGet();
+                return null;
+            }
+
+            HotVote vote = new HotVote(optionId, userId, betAmount, new CompletableFuture<>());
+            mailbox.add(vote);
+            return vote.result();
+        }
+
+        @Override
+        public void run() {
+            String unavailable = null;
+            try {
+                voters = loadVoters();
+                if (voters == null) unavailable = "Poll not found";
+            } catch (RuntimeException e) {
+                System.err.println("[HOT] Could not load poll " + pollId + ": " + e.getMessage());
+                unavailable = "Vote could not be processed, please retry";
+            }
+            if (unavailable != null) {
+                demote(pollId);
+            }
+
+            List<Object> batch = new ArrayList<>();
+            while (!retiring || queuedVotes.get() > 0) {
+                try {
+                    Object first = mailbox.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                    mailbox.drainTo(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                for (Object message : batch) {
+                    if (message instanceof HotVote vote) {
+                        queuedVotes.decrementAndGet();
+                        if (unavailable != null) {
+                            vote.result().complete(new ResultError(false, unavailable));
+                        } else {
+                            apply(vote);
+                        }
+                    } else if (message instanceof Committed committed) {
+                        complete(committed);
+                    }
+                }
+                batch.clear();
+            }
+        }
+
+        private Map<Integer, VoterBitmap> loadVoters() {
+            Poll poll = pollRepository.findById(pollId).orElse(null);
+            if (poll == null) return null;
+
+            Map<Integer, VoterBitmap> state = new HashMap<>();
+            for (Vote option : poll.getOptions()) {
+                state.put(option.getId(), VoterBitmap.deserialize(option.getVoters().serialize()));
+            }
+            return state;
+        }
+
+        private void apply(HotVote vote) {
+            // The poll may have closed while the vote waited in the mailbox.
+            if (!activePollIndex.isActive(pollId)) {
+                vote.result().complete(new ResultError(false, "Poll is closed"));
+                return;
+            }
+
+            VoterBitmap optionVoters = voters.get(vote.optionId());
+            if (optionVoters == null) {
+                vote.result().complete(new ResultError(false, "Option not found"));
+                return;
+            }
+
+            long key = ((long) vote.optionId() << 32) | (vote.userId() & 0xFFFFFFFFL);
+            if (optionVoters.contains(vote.userId()) || submitted.contains(key)
+                    || voterBitmapWriteBehind.hasPendingVote(vote.optionId(), vote.userId())) {
+                vote.result().complete(new ResultError(false, "You have already voted for this option"));
+                return;
+            }
+
+            submitted.add(key);
+            voteIngestionPipeline.submit(pollId, vote.optionId(), vote.userId(), vote.betAmount())
+                    .whenComplete((result, error) -> {
+                        boolean accepted = error == null && result.isSuccess();
+                        mailbox.add(new Committed(vote.optionId(), vote.userId(), accepted));
+                        vote.result().complete(error == null ? result
+                                : new ResultError(false, "Error voting: " + error.getMessage()));
+                    });
+        }
+
+        private void complete(Committed committed) {
+            submitted.remove(((long) committed.optionId() << 32) | (committed.userId() & 0xFFFFFFFFL));
+            if (committed.accepted()) {
+                voters.get(committed.optionId()).add(committed.userId());
+                appliedVotes.increment();
+            }
+        }
+    }
+}
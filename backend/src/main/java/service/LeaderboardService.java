@@ -1,10 +1,11 @@
 package service;
 
+import models.LeaderboardEntry;
 import models.User;
 import models.Achievement;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import repository.UserRepository;
-import repository.AchievementRepository;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -12,149 +13,161 @@ import java.util.stream.Collectors;
 @Service
 public class LeaderboardService {
 
-    private final UserRepository userRepository;
-    private final AchievementRepository achievementRepository;
+    public static final int MAX_BATCH_RANKS = 5000;
 
-    public LeaderboardService(UserRepository userRepository, AchievementRepository achievementRepository) {
+    private final UserRepository userRepository;
+    private final PointsRankIndex pointsRankIndex;
+    private final PointsLeaderboard pointsLeaderboard;
+    private final TierScoreIndex tierScoreIndex;
+    private final AchievementTypeIndex achievementTypeIndex;
+
+    public LeaderboardService(UserRepository userRepository,
+                              PointsRankIndex pointsRankIndex, PointsLeaderboard pointsLeaderboard,
+                              TierScoreIndex tierScoreIndex, AchievementTypeIndex achievementTypeIndex) {
         this.userRepository = userRepository;
-        this.achievementRepository = achievementRepository;
+        this.pointsRankIndex = pointsRankIndex;
+        this.pointsLeaderboard = pointsLeaderboard;
+        this.tierScoreIndex = tierScoreIndex;
+        this.achievementTypeIndex = achievementTypeIndex;
     }
 
-    public List<User> getPointsLeaderboard(int limit) {
-        return userRepository.findTopByOrderByPointsDesc(limit);
+    public List<LeaderboardEntry> getPointsLeaderboard(int limit) {
+        return pointsLeaderboard.top(limit);
     }
 
     public List<Map<String, Object>> getAchievementsLeaderboard(int limit) {
-        List<User> allUsers = userRepository.findAll();
-
-        return allUsers.stream()
+        return userRepository.findAchievementsLeaderboard(PageRequest.of(0, boundedLimit(limit))).stream()
                 .map(user -> {
                     Map<String, Object> userData = new HashMap<>();
                     userData.put("user", user);
-                    userData.put("achievementCount", user.getAchievementList().size());
+                    userData.put("achievementCount", user.getAchievementCount());
                     userData.put("totalPoints", user.getPoints());
                     return userData;
                 })
-                .sorted((a, b) -> Integer.compare(
-                        (Integer) b.get("achievementCount"),
-                        (Integer) a.get("achievementCount")
-                ))
-                .limit(limit)
                 .collect(Collectors.toList());
     }
 
     public List<Map<String, Object>> getAchievementTypeLeaderboard(Achievement.AchievementType type, int limit) {
-        List<Achievement> typeAchievements = achievementRepository.findByTypeAndIsActiveTrue(type);
-        Set<Integer> typeAchievementIds = typeAchievements.stream()
-                .map(Achievement::getId)
-                .collect(Collectors.toSet());
-
-        List<User> allUsers = userRepository.findAll();
+        int[][] top = achievementTypeIndex.top(type, boundedLimit(limit));
+        List<Integer> userIds = Arrays.stream(top[0]).boxed().toList();
+        Map<Integer, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        String countKey = type.name().toLowerCase() + "Count";
+        List<Map<String, Object>> leaderboard = new ArrayList<>(top[0].length);
+        for (int i = 0; i < top[0].length; i++) {
+            User user = usersById.get(top[0][i]);
+            if (user == null) continue;
+
+            Map<String, Object> userData = new HashMap<>();
+            userData.put("user", user);
+            userData.put(countKey, top[1][i]);
+            userData.put("totalPoints", user.getPoints());
+            leaderboard.add(userData);
+        }
+        return leaderboard;
+    }
 
-        return allUsers.stream()
-                .map(user -> {
-                    long count = user.getAchievementList().stream()
-                            .filter(typeAchievementIds::contains)
-                            .count();
+    public int getUserPointsRank(int userId) {
+        return pointsRankIndex.rank(userId);
+    }
 
-                    Map<String, Object> userData = new HashMap<>();
-                    userData.put("user", user);
-                    userData.put(type.name().toLowerCase() + "Count", count);
-                    userData.put("totalPoints", user.getPoints());
-                    return userData;
-                })
-                .sorted((a, b) -> Long.compare(
-                        (Long) b.get(type.name().toLowerCase() + "Count"),
-                        (Long) a.get(type.name().toLowerCase() + "Count")
-                ))
-                .limit(limit)
-                .collect(Collectors.toList());
+    public Optional<Map<String, Object>> getUserPercentile(int userId) {
+        PointsRankIndex.Estimate estimate = pointsRankIndex.estimate(userId);
+        if (estimate == null) return Optional.empty();
+
+        int exactRank = pointsLeaderboard.snapshotRank(userId);
+        long rank = exactRank != -1 ? exactRank : estimate.rank();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("points", estimate.points());
+        result.put("rank", rank);
+        result.put("exact", exactRank != -1);
+        result.put("rankError", exactRank != -1 ? 0 : estimate.rankError());
+        result.put("totalUsers", estimate.totalUsers());
+        result.put("topPercent", Math.ceil(1000.0 * rank / Math.max(1, estimate.totalUsers())) / 10);
+        return Optional.of(result);
     }
 
-    public int getUserPointsRank(int userId) {
-        List<User> allUsers = userRepository.findAllByOrderByPointsDesc();
-        for (int i = 0; i < allUsers.size(); i++) {
-            if (allUsers.get(i).getId() == userId) {
-                return i + 1;
-            }
+    public List<Map<String, Object>> getUserRanks(List<Integer> userIds) {
+        int[] ids = userIds.stream().mapToInt(Integer::intValue).toArray();
+        int[] pointsRanks = pointsRankIndex.ranks(ids);
+        int[][] achievementRanks = tierScoreIndex.ranks(ids);
+
+        List<Map<String, Object>> ranks = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Map<String, Object> rank = new LinkedHashMap<>();
+            rank.put("userId", ids[i]);
+            rank.put("pointsRank", pointsRanks[i] == -1 ? null : pointsRanks[i]);
+            rank.put("achievementsRank", achievementRanks[0][i] == -1 ? null : achievementRanks[0][i]);
+            rank.put("tierRank", achievementRanks[1][i] == -1 ? null : achievementRanks[1][i]);
+            ranks.add(rank);
         }
-        return -1;
+        return ranks;
     }
 
     public int getUserAchievementsRank(int userId) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) return -1;
 
-        List<User> allUsers = userRepository.findAll();
-        List<User> sortedUsers = allUsers.stream()
-                .sorted((a, b) -> Integer.compare(
-                        b.getAchievementList().size(),
-                        a.getAchievementList().size()
-                ))
-                .collect(Collectors.toList());
-
-        for (int i = 0; i < sortedUsers.size(); i++) {
-            if (sortedUsers.get(i).getId() == userId) {
-                return i + 1;
-            }
-        }
-        return -1;
+        return (int) userRepository.countRankedAboveByAchievements(userOpt.get().getAchievementCount(), userId) + 1;
     }
 
     public Map<String, Object> getUserLeaderboardContext(int userId, int contextSize) {
         Map<String, Object> result = new HashMap<>();
 
-        List<User> allUsers = userRepository.findAllByOrderByPointsDesc();
-        int userIndex = -1;
-
-        for (int i = 0; i < allUsers.size(); i++) {
-            if (allUsers.get(i).getId() == userId) {
-                userIndex = i;
-                break;
-            }
-        }
-
-        if (userIndex == -1) {
+        PointsRankIndex.Neighbors neighbors = pointsRankIndex.neighbors(userId, Math.max(0, contextSize));
+        if (neighbors == null) {
             result.put("error", "User not found in leaderboard");
             return result;
         }
 
-        int start = Math.max(0, userIndex - contextSize);
-        int end = Math.min(allUsers.size(), userIndex + contextSize + 1);
-
-        List<User> contextUsers = allUsers.subList(start, end);
+        List<Integer> ids = Arrays.stream(neighbors.userIds()).boxed().toList();
+        Map<Integer, User> usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        List<User> contextUsers = ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
 
-        result.put("userRank", userIndex + 1);
-        result.put("totalUsers", allUsers.size());
+        result.put("userRank", neighbors.rank());
+        result.put("totalUsers", neighbors.totalUsers());
         result.put("contextUsers", contextUsers);
-        result.put("contextStartRank", start + 1);
+        result.put("contextStartRank", neighbors.startRank());
 
         return result;
     }
 
     public List<Map<String, Object>> getBadgeTierLeaderboard(int limit) {
-        List<User> allUsers = userRepository.findAll();
-
-        return allUsers.stream()
-                .map(user -> {
-                    List<Achievement> userAchievements = achievementRepository.findAllById(user.getAchievementList());
+        TierScoreIndex.Entry[] entries = tierScoreIndex.top(boundedLimit(limit));
+        List<Integer> userIds = Arrays.stream(entries).map(TierScoreIndex.Entry::userId).toList();
+        Map<Integer, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+
+        Achievement.BadgeTier[] tiers = Achievement.BadgeTier.values();
+        List<Map<String, Object>> leaderboard = new ArrayList<>(entries.length);
+        for (TierScoreIndex.Entry entry : entries) {
+            User user = usersById.get(entry.userId());
+            if (user == null) continue;
+
+            Map<String, Object> tierCounts = new LinkedHashMap<>();
+            for (Achievement.BadgeTier tier : tiers) {
+                tierCounts.put(tier.name(), entry.tierCounts()[tier.ordinal()]);
+            }
 
-                    int tierScore = userAchievements.stream()
-                            .mapToInt(Achievement::getBadgeRank)
-                            .sum();
+            Map<String, Object> userData = new HashMap<>();
+            userData.put("user", user);
+            userData.put("tierScore", entry.tierScore());
+            userData.put("badgeCount", entry.badgeCount());
+            userData.put("tierCounts", tierCounts);
+            userData.put("totalPoints", user.getPoints());
+            leaderboard.add(userData);
+        }
+        return leaderboard;
+    }
 
-                    Map<String, Object> userData = new HashMap<>();
-                    userData.put("user", user);
-                    userData.put("tierScore", tierScore);
-                    userData.put("badgeCount", user.getAchievementList().size());
-                    userData.put("totalPoints", user.getPoints());
-                    return userData;
-                })
-                .sorted((a, b) -> Integer.compare(
-                        (Integer) b.get("tierScore"),
-                        (Integer) a.get("tierScore")
-                ))
-                .limit(limit)
-                .collect(Collectors.toList());
+    private static int boundedLimit(int limit) {
+        return Math.max(1, Math.min(limit, PointsLeaderboard.MAX_LIMIT));
     }
-}
\ No newline at end of file
+}
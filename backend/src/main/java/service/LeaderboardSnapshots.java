@@ -0,0 +1,257 @@
+package service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import utils.IntIntHashMap;
+
+import java.util.*;
+
+// Versioned copies of the points ranking taken from PointsRankIndex at a fixed interval. Only the latest version
+// holds the full ranking (user ids and points in rank order, user id -> rank). Every version keeps its top
+// PointsLeaderboard.MAX_LIMIT entries, and each older version keeps a sparse delta: the points it had for the users
+// whose points changed (or who appeared) before the next version. A user's rank in an old version is the latest
+// rank corrected by the users changed since, so memory grows with the churn between captures, not with the user
+// count times retained versions. Retention is capped by version count and by total delta entries. A capture
+// identical to the latest version is not stored.
+@Service
+public class LeaderboardSnapshots {
+
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    private final PointsRankIndex pointsRankIndex;
+    private final int retained;
+    private final long maxDeltaEntries;
+
+    private final NavigableMap<Long, Snapshot> snapshots = new TreeMap<>();
+    private long nextVersion = 1;
+    private long deltaEntries;
+
+    private int[] latestIds = new int[0];
+    private int[] latestPoints = new int[0];
+    private IntIntHashMap latestRanks = new IntIntHashMap();
+
+    public LeaderboardSnapshots(PointsRankIndex pointsRankIndex,
+                                @Value("${leaderboard.snapshots.retained:60}") int retained,
+                                @Value("${leaderboard.snapshots.max-delta-entries:2000000}") long maxDeltaEntries) {
+        this.pointsRankIndex = pointsRankIndex;
+        this.retained = Math.max(2, retained);
+        this.maxDeltaEntries = maxDeltaEntries;
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.snapshots.interval-ms:60000}")
+    public void capture() {
+        PointsRankIndex.Ranking ranking = pointsRankIndex.ranking();
+        int[] userIds = ranking.userIds();
+        int[] points = ranking.points();
+
+        IntIntHashMap ranks = new IntIntHashMap(userIds.length);
+        for (int i = 0; i < userIds.length; i++) {
+            ranks.put(userIds[i], i + 1);
+        }
+
+        synchronized (this) {
+            Map.Entry<Long, Snapshot> latest = snapshots.lastEntry();
+            if (latest != null) {
+                if (Arrays.equals(latestIds, userIds) && Arrays.equals(latestPoints, points)) return;
+
+                IntIntHashMap delta = new IntIntHashMap();
+                for (int i = 0; i < latestIds.length; i++) {
+                    int rank = ranks.get(latestIds[i], -1);
+                    if (rank == -1 || points[rank - 1] != latestPoints[i]) {
+                        delta.put(latestIds[i], latestPoints[i]);
+                    }
+                }
+                for (int userId : userIds) {
+                    if (!latestRanks.containsKey(userId)) {
+                        delta.put(userId, ABSENT);
+                    }
+                }
+                latest.getValue().delta = delta;
+                deltaEntries += delta.size();
+            }
+
+            long version = nextVersion++;
+            int top = Math.min(userIds.length, PointsLeaderboard.MAX_LIMIT);
+            snapshots.put(version, new Snapshot(version, System.currentTimeMillis(), userIds.length,
+                    Arrays.copyOf(userIds, top), Arrays.copyOf(points, top)));
+            latestIds = userIds;
+            latestPoints = points;
+            latestRanks = ranks;
+
+            while (snapshots.size() > retained || (snapshots.size() > 1 && deltaEntries > maxDeltaEntries)) {
+                deltaEntries -= snapshots.pollFirstEntry().getValue().delta.size();
+            }
+        }
+    }
+
+    public synchronized List<Map<String, Object>> listVersions() {
+        List<Map<String, Object>> versions = new ArrayList<>(snapshots.size());
+        for (Snapshot snapshot : snapshots.values()) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("version", snapshot.version);
+            data.put("takenAt", snapshot.takenAtMillis);
+            data.put("users", snapshot.users);
+            versions.add(data);
+        }
+        return versions;
+    }
+
+    public Optional<Map<String, Object>> diffUser(long fromVersion, Long toVersion, int userId) {
+        View[] pair = pair(fromVersion, toVersion);
+        if (pair == null) return Optional.empty();
+
+        Map<String, Object> diff = header(pair);
+        diff.put("user", movement(pair[0], pair[1], userId, pair[1].rank(userId)));
+        return Optional.of(diff);
+    }
+
+    public Optional<Map<String, Object>> diffTop(long fromVersion, Long toVersion, int limit, boolean changedOnly) {
+        View[] pair = pair(fromVersion, toVersion);
+        if (pair == null) return Optional.empty();
+
+        Snapshot to = pair[1].snapshot;
+        int count = Math.max(0, Math.min(limit, to.topIds.length));
+        List<Map<String, Object>> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> entry = movement(pair[0], pair[1], to.topIds[i], i + 1);
+            if (!changedOnly || !Objects.equals(entry.get("rankDelta"), 0) || !Objects.equals(entry.get("pointsDelta"), 0)) {
+                entries.add(entry);
+            }
+        }
+
+        Map<String, Object> diff = header(pair);
+        diff.put("entries", entries);
+        return Optional.of(diff);
+    }
+
+    private synchronized View[] pair(long fromVersion, Long toVersion) {
+        if (snapshots.isEmpty()) return null;
+
+        Snapshot from = snapshots.get(fromVersion);
+        Snapshot to = toVersion != null ? snapshots.get(toVersion) : snapshots.lastEntry().getValue();
+        if (from == null || to == null) return null;
+        return new View[]{view(from), view(to)};
+    }
+
+    // Points at the snapshot's version of every user changed since then; the deltas are replayed newest first, so
+    // the oldest value written for a user is the one it had in this version.
+    private View view(Snapshot snapshot) {
+        IntIntHashMap changed = new IntIntHashMap();
+        for (Snapshot newer : snapshots.subMap(snapshot.version, true, snapshots.lastKey(), false)
+                .descendingMap().values()) {
+            IntIntHashMap delta = newer.delta;
+            for (int userId : delta.keys()) {
+                changed.put(userId, delta.get(userId, ABSENT));
+            }
+        }
+        return new View(snapshot, changed, latestIds, latestPoints, latestRanks);
+    }
+
+    private static Map<String, Object> header(View[] pair) {
+        Map<String, Object> diff = new LinkedHashMap<>();
+        diff.put("fromVersion", pair[0].snapshot.version);
+        diff.put("toVersion", pair[1].snapshot.version);
+        diff.put("fromTakenAt", pair[0].snapshot.takenAtMillis);
+        diff.put("toTakenAt", pair[1].snapshot.takenAtMillis);
+        return diff;
+    }
+
+    private static Map<String, Object> movement(View from, View to, int userId, int rank) {
+        int previousRank = from.rank(userId);
+        int points = to.points(userId);
+        int previousPoints = from.points(userId);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("userId", userId);
+        entry.put("rank", rank == -1 ? null : rank);
+        entry.put("points", rank == -1 ? null : points);
+        entry.put("previousRank", previousRank == -1 ? null : previousRank);
+        entry.put("previousPoints", previousRank == -1 ? null : previousPoints);
+        entry.put("rankDelta", rank == -1 || previousRank == -1 ? null : previousRank - rank);
+        entry.put("pointsDelta", rank == -1 || previousRank == -1 ? null : points - previousPoints);
+        return entry;
+    }
+
+    // Ranking order of PointsRankIndex: points descending, then user id ascending.
+    private static boolean ranksAbove(int points, int userId, int otherPoints, int otherUserId) {
+        return points > otherPoints || (points == otherPoints && userId < otherUserId);
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final long takenAtMillis;
+        private final int users;
+        private final int[] topIds;
+        private final int[] topPoints;
+        private IntIntHashMap delta = new IntIntHashMap();
+
+        private Snapshot(long version, long takenAtMillis, int users, int[] topIds, int[] topPoints) {
+            this.version = version;
+            this.takenAtMillis = takenAtMillis;
+            this.users = users;
+            this.topIds = topIds;
+            this.topPoints = topPoints;
+        }
+    }
+
+    // One version as seen through the latest full ranking plus the users changed since.
+    private static final class View {
+
+        private final Snapshot snapshot;
+        private final IntIntHashMap changed;
+        private final int[] changedIds;
+        private final int[] latestIds;
+        private final int[] latestPoints;
+        private final IntIntHashMap latestRanks;
+
+        private View(Snapshot snapshot, IntIntHashMap changed, int[] latestIds, int[] latestPoints,
+                     IntIntHashMap latestRanks) {
+            this.snapshot = snapshot;
+            this.changed = changed;
+            this.changedIds = changed.keys();
+            this.latestIds = latestIds;
+            this.latestPoints = latestPoints;
+            this.latestRanks = latestRanks;
+        }
+
+        private int points(int userId) {
+            if (changed.containsKey(userId)) return changed.get(userId, ABSENT);
+            int rank = latestRanks.get(userId, -1);
+            return rank == -1 ? ABSENT : latestPoints[rank - 1];
+        }
+
+        private int rank(int userId) {
+            int points = points(userId);
+            if (points == ABSENT) return -1;
+
+            int above = countAboveInLatest(points, userId);
+            for (int otherId : changedIds) {
+                int latestRank = latestRanks.get(otherId, -1);
+                if (latestRank != -1 && ranksAbove(latestPoints[latestRank - 1], otherId, points, userId)) {
+                    above--;
+                }
+                int otherPoints = changed.get(otherId, ABSENT);
+                if (otherPoints != ABSENT && ranksAbove(otherPoints, otherId, points, userId)) {
+                    above++;
+                }
+            }
+            return above + 1;
+        }
+
+        private int countAboveInLatest(int points, int userId) {
+            int low = 0;
+            int high = latestIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ranksAbove(latestPoints[mid], latestIds[mid], points, userId)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
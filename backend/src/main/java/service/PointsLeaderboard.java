@@ -0,0 +1,94 @@
+package service;
+
+import models.LeaderboardEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import repository.UserRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps an immutable top-N points snapshot, refreshed on a fixed delay with one LIMIT query. Requests within N are
+// served from the snapshot; larger limits go to the database, capped at MAX_LIMIT.
+@Service
+public class PointsLeaderboard {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private final UserRepository userRepository;
+    private final int snapshotSize;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private final LongAdder snapshotReads = new LongAdder();
+    private final LongAdder databaseReads = new LongAdder();
+
+    public PointsLeaderboard(UserRepository userRepository,
+                             @Value("${leaderboard.points.snapshot-size:100}") int snapshotSize) {
+        this.userRepository = userRepository;
+        this.snapshotSize = Math.min(snapshotSize, MAX_LIMIT);
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.points.refresh-ms:5000}")
+    public void refresh() {
+        long start = System.nanoTime();
+        try {
+            List<LeaderboardEntry> entries = List.copyOf(query(snapshotSize));
+            snapshot = new Snapshot(entries, System.currentTimeMillis(), System.nanoTime() - start);
+            refreshes.increment();
+        } catch (RuntimeException e) {
+            failedRefreshes.increment();
+            System.err.println("[LEADERBOARD] Points snapshot refresh failed: " + e.getMessage());
+        }
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        int size = Math.max(0, Math.min(limit, MAX_LIMIT));
+        Snapshot current = snapshot;
+
+        if (current != null && size <= snapshotSize) {
+            snapshotReads.increment();
+            return current.entries().subList(0, Math.min(size, current.entries().size()));
+        }
+        databaseReads.increment();
+        return size == 0 ? List.of() : query(size);
+    }
+
+    // Exact 1-based rank when the user is inside the current snapshot, otherwise -1.
+    public int snapshotRank(int userId) {
+        Snapshot current = snapshot;
+        if (current == null) return -1;
+
+        List<LeaderboardEntry> entries = current.entries();
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).id() == userId) return i + 1;
+        }
+        return -1;
+    }
+
+    private List<LeaderboardEntry> query(int limit) {
+        return userRepository.findPointsLeaderboard(PageRequest.of(0, limit));
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshotSize", snapshotSize);
+        stats.put("snapshotEntries", current == null ? 0 : current.entries().size());
+        stats.put("snapshotAgeMs", current == null ? null : System.currentTimeMillis() - current.takenAtMillis());
+        stats.put("lastRefreshMs", current == null ? null : current.refreshNanos() / 1e6);
+        stats.put("refreshes", refreshes.sum());
+        stats.put("failedRefreshes", failedRefreshes.sum());
+        stats.put("snapshotReads", snapshotReads.sum());
+        stats.put("databaseReads", databaseReads.sum());
+        return stats;
+    }
+
+    private record Snapshot(List<LeaderboardEntry> entries, long takenAtMillis, long refreshNanos) {}
+}
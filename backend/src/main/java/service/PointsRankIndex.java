@@ -0,0 +1,167 @@
+package service;
+
+import models.PointsChangedEvent;
+import models.UserRegisteredEvent;
+import models.VoteRecordedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import utils.PointsHistogram;
+import utils.RankTree;
+
+import java.util.*;
+
+// In-memory points ranking, loaded from users once at startup and then moved by committed point changes:
+// PointsChangedEvent from entity saves and payouts, VoteRecordedEvent for the pipeline's bet debits, and
+// UserRegisteredEvent for new users. Events are published after their commit, so those that arrive before the
+// initial load starts are already in the rows it reads and are skipped. Events that arrive while it runs only mark
+// their user; marked users are re-read once the snapshot is in, so a change the SELECT already saw is not applied
+// again. load() may be called again to re-read every balance, with the same marking. Balances are clamped at 0 like
+// the guarded debits in the database. A PointsHistogram over the same values answers approximate percentile queries.
+@Component
+public class PointsRankIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RankTree tree = new RankTree();
+    private final PointsHistogram histogram = new PointsHistogram();
+    private boolean loaded;
+    private Set<Integer> touchedWhileLoading;
+
+    public PointsRankIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            if (touchedWhileLoading != null) return;
+            touchedWhileLoading = new HashSet<>();
+        }
+
+        Map<Integer, Integer> snapshot = new HashMap<>();
+        jdbcTemplate.query("SELECT id, points FROM users", rs -> {
+            snapshot.put(rs.getInt(1), rs.getInt(2));
+        });
+
+        while (true) {
+            Set<Integer> touched;
+            synchronized (this) {
+                snapshot.forEach(this::set);
+                if (touchedWhileLoading.isEmpty()) {
+                    touchedWhileLoading = null;
+                    loaded = true;
+                    break;
+                }
+                touched = touchedWhileLoading;
+                touchedWhileLoading = new HashSet<>();
+            }
+
+            snapshot.clear();
+            String in = String.join(",", Collections.nCopies(touched.size(), "?"));
+            jdbcTemplate.query("SELECT id, points FROM users WHERE id IN (" + in + ")", rs -> {
+                snapshot.put(rs.getInt(1), rs.getInt(2));
+            }, touched.toArray());
+        }
+        System.out.println("[RANK] Loaded points ranking for " + size() + " users");
+    }
+
+    // Runs before listeners that read the new balance back, such as AchievementEngine.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onPointsChanged(PointsChangedEvent event) {
+        apply(event.userId(), event.delta());
+    }
+
+    @EventListener
+    public synchronized void onUserRegistered(UserRegisteredEvent event) {
+        if (touchedWhileLoading != null) {
+            touchedWhileLoading.add(event.userId());
+        } else if (loaded && !tree.contains(event.userId())) {
+            set(event.userId(), 0);
+        }
+    }
+
+    @EventListener
+    public synchronized void onVoteRecorded(VoteRecordedEvent event) {
+        apply(event.userId(), -event.betAmount());
+    }
+
+    private void apply(int userId, int delta) {
+        if (touchedWhileLoading != null) {
+            touchedWhileLoading.add(userId);
+        } else if (loaded) {
+            set(userId, Math.max(0, tree.score(userId, 0) + delta));
+        }
+    }
+
+    private void set(int userId, int points) {
+        if (tree.contains(userId)) {
+            histogram.move(tree.score(userId, 0), points);
+        } else {
+            histogram.add(points);
+        }
+        tree.put(userId, points);
+    }
+
+    public synchronized Estimate estimate(int userId) {
+        if (!tree.contains(userId)) return null;
+
+        int points = tree.score(userId, 0);
+        return new Estimate(points, histogram.estimateRank(points), histogram.rankErrorBound(points), histogram.total());
+    }
+
+    public synchronized int rank(int userId) {
+        return tree.rank(userId);
+    }
+
+    public synchronized int[] ranks(int[] userIds) {
+        int[] ranks = new int[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            ranks[i] = tree.rank(userIds[i]);
+        }
+        return ranks;
+    }
+
+    public synchronized int points(int userId) {
+        return tree.score(userId, 0);
+    }
+
+    public synchronized int size() {
+        return tree.size();
+    }
+
+    public synchronized int[] top(int k) {
+        return tree.top(k);
+    }
+
+    public synchronized int[] range(int fromRank, int count) {
+        return tree.range(fromRank - 1, count);
+    }
+
+    public synchronized Ranking ranking() {
+        int[] userIds = tree.range(0, tree.size());
+        int[] points = new int[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            points[i] = tree.score(userIds[i], 0);
+        }
+        return new Ranking(userIds, points);
+    }
+
+    public synchronized Neighbors neighbors(int userId, int contextSize) {
+        int rank = tree.rank(userId);
+        if (rank == -1) return null;
+
+        int startRank = Math.max(1, rank - contextSize);
+        int endRank = Math.min(tree.size(), rank + contextSize);
+        return new Neighbors(rank, tree.size(), startRank, tree.range(startRank - 1, endRank - startRank + 1));
+    }
+
+    public record Estimate(int points, long rank, long rankError, long totalUsers) {}
+
+    public record Ranking(int[] userIds, int[] points) {}
+
+    public record Neighbors(int rank, int totalUsers, int startRank, int[] userIds) {}
+}
@@ -0,0 +1,117 @@
+package service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import models.PollClosedEvent;
+import models.PollDeadline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import repository.PollRepository;
+import utils.HierarchicalTimingWheel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class PollExpiryScheduler {
+
+    private final PollRepository pollRepository;
+    private final ActivePollIndex activePollIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HierarchicalTimingWheel<Integer> wheel;
+    private final Map<Integer, HierarchicalTimingWheel.Timeout<Integer>> timeouts = new ConcurrentHashMap<>();
+    private final long tickMs;
+
+    // The wheel ticks on its own thread, so slow flushes on the shared @Scheduled thread cannot delay poll closing.
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "poll-expiry-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PollExpiryScheduler(PollRepository pollRepository,
+                               ActivePollIndex activePollIndex,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${polls.expiry.tick-ms:1000}") long tickMs,
+                               @Value("${polls.expiry.wheel-size:64}") int wheelSize) {
+        this.pollRepository = pollRepository;
+        this.activePollIndex = activePollIndex;
+        this.eventPublisher = eventPublisher;
+        this.tickMs = tickMs;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenPolls() {
+        List<PollDeadline> deadlines = pollRepository.findOpenPollDeadlines();
+        for (PollDeadline deadline : deadlines) {
+            schedule(deadline.pollId(), deadline.endDate());
+        }
+        System.out.println("[EXPIRY] Scheduled " + deadlines.size() + " open polls");
+    }
+
+    public void schedule(int pollId, LocalDateTime endDate) {
+        long deadline = endDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        HierarchicalTimingWheel.Timeout<Integer> previous = timeouts.put(pollId, wheel.schedule(pollId, deadline));
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+        activePollIndex.add(pollId);
+    }
+
+    public void cancel(int pollId) {
+        HierarchicalTimingWheel.Timeout<Integer> timeout = timeouts.remove(pollId);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+        activePollIndex.remove(pollId);
+    }
+
+    public void tick() {
+        // A tick that throws would cancel the fixed-rate schedule, and the polls already taken off the wheel.
+        for (Integer pollId : wheel.advance(System.currentTimeMillis())) {
+            try {
+                close(pollId);
+            } catch (RuntimeException e) {
+                System.err.println("[EXPIRY] Closing poll " + pollId + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void close(int pollId) {
+        timeouts.remove(pollId);
+        activePollIndex.remove(pollId);
+
+        try {
+            pollRepository.markClosed(pollId);
+        } catch (RuntimeException e) {
+            System.err.println("[EXPIRY] Could not mark poll " + pollId + " closed: " + e.getMessage());
+        }
+
+        eventPublisher.publishEvent(new PollClosedEvent(pollId));
+    }
+
+    public int scheduledCount() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
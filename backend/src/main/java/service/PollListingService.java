@@ -0,0 +1,177 @@
+package service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import models.PollSummary;
+import models.PollSummaryOption;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import repository.PollSummaryOptionRepository;
+import repository.PollSummaryRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class PollListingService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public enum StatusFilter {
+        ALL,
+        ACTIVE,
+        EXPIRED,
+        RESOLVED;
+
+        public static StatusFilter from(String value) {
+            if (value == null || value.isBlank()) return ALL;
+            return StatusFilter.valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final PollSummaryRepository pollSummaryRepository;
+    private final PollSummaryOptionRepository pollSummaryOptionRepository;
+    private final ActivePollIndex activePollIndex;
+    private final UserVoteIndex userVoteIndex;
+
+    public PollListingService(EntityManager entityManager,
+                              PollSummaryRepository pollSummaryRepository,
+                              PollSummaryOptionRepository pollSummaryOptionRepository,
+                              ActivePollIndex activePollIndex,
+                              UserVoteIndex userVoteIndex) {
+        this.entityManager = entityManager;
+        this.pollSummaryRepository = pollSummaryRepository;
+        this.pollSummaryOptionRepository = pollSummaryOptionRepository;
+        this.activePollIndex = activePollIndex;
+        this.userVoteIndex = userVoteIndex;
+    }
+
+    // Legacy unpaged listing, kept unbounded for existing clients; new clients page through listPolls instead.
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listAll(Integer currentUserId) {
+        return toItems(pollSummaryRepository.findAllByOrderByPollIdAsc(), currentUserId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listActive(Integer currentUserId) {
+        List<PollSummary> summaries = new ArrayList<>(pollSummaryRepository.findAllById(activePollIndex.activePollIds()));
+        summaries.sort(Comparator.comparingInt(PollSummary::getPollId));
+        return toItems(summaries, currentUserId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getPoll(int pollId, Integer currentUserId) {
+        return pollSummaryRepository.findById(pollId)
+                .map(summary -> toItems(List.of(summary), currentUserId).get(0));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> listPolls(String cursor, int limit, StatusFilter status, Integer currentUserId) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        StringBuilder jpql = new StringBuilder("SELECT s FROM PollSummary s WHERE 1 = 1");
+        switch (status) {
+            case ACTIVE -> jpql.append(" AND s.closed = false AND s.endDate > :now");
+            case EXPIRED -> jpql.append(" AND (s.closed = true OR s.endDate <= :now) AND s.resolved = false");
+            case RESOLVED -> jpql.append(" AND s.resolved = true");
+            default -> { }
+        }
+        if (after != null) {
+            jpql.append(" AND (s.endDate < :cursorEnd OR (s.endDate = :cursorEnd AND s.pollId < :cursorId))");
+        }
+        jpql.append(" ORDER BY s.endDate DESC, s.pollId DESC");
+
+        TypedQuery<PollSummary> query = entityManager.createQuery(jpql.toString(), PollSummary.class);
+        if (status == StatusFilter.ACTIVE || status == StatusFilter.EXPIRED) {
+            query.setParameter("now", LocalDateTime.now());
+        }
+        if (after != null) {
+            query.setParameter("cursorEnd", after.endDate());
+            query.setParameter("cursorId", after.id());
+        }
+        query.setMaxResults(pageSize + 1);
+
+        List<PollSummary> rows = new ArrayList<>(query.getResultList());
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", toItems(rows, currentUserId));
+        page.put("nextCursor", hasMore ? PageCursor.encode(rows.get(rows.size() - 1)) : null);
+        return page;
+    }
+
+    private List<Map<String, Object>> toItems(List<PollSummary> summaries, Integer currentUserId) {
+        if (summaries.isEmpty()) return new ArrayList<>();
+
+        List<Integer> pollIds = summaries.stream().map(PollSummary::getPollId).toList();
+
+        Map<Integer, List<PollSummaryOption>> optionsByPoll = new HashMap<>();
+        for (PollSummaryOption option : pollSummaryOptionRepository.findByPollIdInOrderByOptionIdAsc(pollIds)) {
+            optionsByPoll.computeIfAbsent(option.getPollId(), id -> new ArrayList<>()).add(option);
+        }
+
+        Map<Integer, List<Integer>> votedOptionIds = currentUserId == null
+                ? Map.of()
+                : userVoteIndex.votedOptions(currentUserId, pollIds);
+
+        List<Map<String, Object>> items = new ArrayList<>(summaries.size());
+        for (PollSummary summary : summaries) {
+            List<PollSummaryOption> options = optionsByPoll.getOrDefault(summary.getPollId(), List.of());
+
+            List<Map<String, Object>> optionData = new ArrayList<>(options.size());
+            for (PollSummaryOption option : options) {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("id", option.getOptionId());
+                data.put("optionText", option.getOptionText());
+                data.put("totalBets", option.getTotalBets());
+                data.put("totalVotes", option.getTotalVotes());
+                optionData.add(data);
+            }
+
+            Map<String, Object> pollData = new LinkedHashMap<>();
+            pollData.put("id", summary.getPollId());
+            pollData.put("title", summary.getTitle());
+            pollData.put("description", summary.getDescription());
+            pollData.put("date", summary.getDate());
+            pollData.put("endDate", summary.getEndDate());
+            pollData.put("options", optionData);
+            pollData.put("expired", summary.isExpired());
+            pollData.put("closed", summary.isClosed());
+            pollData.put("creatorId", summary.getCreatorId());
+            pollData.put("creatorName", summary.getCreatorName());
+            pollData.put("creatorAvatar", null);
+            pollData.put("resolved", summary.isResolved());
+            pollData.put("userVotedOptionIds", votedOptionIds.getOrDefault(summary.getPollId(), List.of()));
+            pollData.put("winningOptionId", summary.getWinningOptionId());
+            items.add(pollData);
+        }
+        return items;
+    }
+
+    private record PageCursor(LocalDateTime endDate, int id) {
+
+        private static String encode(PollSummary row) {
+            String raw = row.getEndDate() + "|" + row.getPollId();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static PageCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) return null;
+
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Integer.parseInt(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package service;
+
+import jakarta.annotation.PreDestroy;
+import models.PointsChangedEvent;
+import models.PollResolutionJob;
+import models.PollResolvedEvent;
+import models.ResultError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import repository.PollResolutionJobRepository;
+import utils.IntIntHashMap;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class PollResolutionEngine {
+
+    private final PollResolutionJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    private final Set<Integer> runningJobs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "poll-resolution");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PollResolutionEngine(PollResolutionJobRepository jobRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${polls.resolution.chunk-size:1000}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public ResultError start(int pollId, int winningOptionId) {
+        PollResolutionJob job = jobRepository.findByPollId(pollId).orElse(null);
+
+        if (job == null) {
+            job = new PollResolutionJob(pollId, winningOptionId);
+        } else if (job.getStatus() == PollResolutionJob.Status.COMPLETED) {
+            return new ResultError(false, "Poll already resolved");
+        } else if (job.getStatus() != PollResolutionJob.Status.FAILED) {
+            return new ResultError(false, "Poll resolution already in progress");
+        } else if (job.getWinningOptionId() != winningOptionId && job.getPaidCount() > 0) {
+            return new ResultError(false, "Poll resolution already paid winners of option " + job.getWinningOptionId());
+        } else {
+            job.changeWinningOption(winningOptionId);
+            job.setStatus(PollResolutionJob.Status.PENDING);
+            job.setErrorMessage(null);
+        }
+
+        try {
+            job = jobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            return new ResultError(false, "Poll resolution already in progress");
+        }
+
+        submit(job.getId());
+        return new ResultError(true, "Poll resolution started");
+    }
+
+    public Optional<PollResolutionJob> getJob(int pollId) {
+        return jobRepository.findByPollId(pollId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<PollResolutionJob> unfinished = jobRepository.findByStatusIn(
+                List.of(PollResolutionJob.Status.PENDING, PollResolutionJob.Status.RUNNING));
+
+        for (PollResolutionJob job : unfinished) {
+            System.out.println("[RESOLVE] Resuming resolution of poll " + job.getPollId()
+                    + " after user " + job.getLastUserId());
+            submit(job.getId());
+        }
+    }
+
+    private void submit(int jobId) {
+        if (!runningJobs.add(jobId)) return;
+
+        executor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                runningJobs.remove(jobId);
+            }
+        });
+    }
+
+    private void run(int jobId) {
+        PollResolutionJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == PollResolutionJob.Status.COMPLETED) return;
+
+        try {
+            job.setStatus(PollResolutionJob.Status.RUNNING);
+            if (!job.isPoolsComputed()) {
+                computePools(job);
+            }
+            job = jobRepository.save(job);
+
+            IntIntHashMap bets = loadWinningBets(job.getWinningOptionId(), job.getLastUserId());
+            int[] userIds = bets.sortedKeys();
+
+            for (int from = 0; from < userIds.length; from += chunkSize) {
+                payChunk(job, userIds, from, Math.min(userIds.length, from + chunkSize), bets);
+            }
+
+            finish(job);
+        } catch (RuntimeException e) {
+            System.err.println("[RESOLVE] Resolution of poll " + job.getPollId() + " failed: " + e.getMessage());
+            job.setStatus(PollResolutionJob.Status.FAILED);
+            job.setErrorMessage(e.getMessage());
+            jobRepository.save(job);
+        }
+    }
+
+    private void computePools(PollResolutionJob job) {
+        long[] pools = new long[2];
+        int[] winners = new int[1];
+
+        jdbcTemplate.query(
+                "SELECT b.vote_id, SUM(b.bet_amount), COUNT(DISTINCT b.user_id) FROM user_bets b " +
+                        "JOIN votes v ON v.id = b.vote_id WHERE v.poll_id = ? GROUP BY b.vote_id",
+                rs -> {
+                    if (rs.getInt(1) == job.getWinningOptionId()) {
+                        pools[0] += rs.getLong(2);
+                        winners[0] = rs.getInt(3);
+                    } else {
+                        pools[1] += rs.getLong(2);
+                    }
+                },
+                job.getPollId());
+
+        job.setWinnerPool(pools[0]);
+        job.setLoserPool(pools[1]);
+        job.setTotalWinners(winners[0]);
+        job.setPoolsComputed(true);
+    }
+
+    private IntIntHashMap loadWinningBets(int optionId, int afterUserId) {
+        IntIntHashMap bets = new IntIntHashMap(1024);
+        jdbcTemplate.query(
+                "SELECT user_id, SUM(bet_amount) FROM user_bets WHERE vote_id = ? AND user_id > ? GROUP BY user_id",
+                rs -> {
+                    bets.put(rs.getInt(1), rs.getInt(2));
+                },
+                optionId, afterUserId);
+        return bets;
+    }
+
+    private void payChunk(PollResolutionJob job, int[] userIds, int from, int to, IntIntHashMap bets) {
+        int lastUserId = userIds[to - 1];
+        int count = to - from;
+        int previousCursor = job.getLastUserId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE users SET points = points + ? WHERE id = ?",
+                    new AbstractList<int[]>() {
+                        @Override
+                        public int[] get(int index) {
+                            int userId = userIds[from + index];
+                            return new int[]{userId, payout(bets.get(userId, 0), job)};
+                        }
+
+                        @Override
+                        public int size() {
+                            return count;
+                        }
+                    },
+                    count,
+                    (ps, credit) -> {
+                        ps.setInt(1, credit[1]);
+                        ps.setInt(2, credit[0]);
+                    });
+
+            int advanced = jdbcTemplate.update(
+                    "UPDATE poll_resolution_jobs SET last_user_id = ?, paid_count = paid_count + ? " +
+                            "WHERE id = ? AND last_user_id = ?",
+                    lastUserId, count, job.getId(), previousCursor);
+
+            if (advanced != 1) {
+                throw new IllegalStateException("Resolution cursor moved concurrently, aborting chunk");
+            }
+        });
+
+        job.setLastUserId(lastUserId);
+        job.setPaidCount(job.getPaidCount() + count);
+
+        for (int i = from; i < to; i++) {
+            eventPublisher.publishEvent(new PointsChangedEvent(userIds[i], payout(bets.get(userIds[i], 0), job)));
+        }
+    }
+
+    private int payout(int bet, PollResolutionJob job) {
+        if (job.getLoserPool() == 0 || job.getWinnerPool() == 0) {
+            return bet;
+        }
+        double share = (double) bet / job.getWinnerPool();
+        return (int) Math.round(bet + share * job.getLoserPool());
+    }
+
+    private void finish(PollResolutionJob job) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE polls SET winning_option_id = ?, resolved = true WHERE id = ?",
+                    job.getWinningOptionId(), job.getPollId());
+            job.setStatus(PollResolutionJob.Status.COMPLETED);
+            jobRepository.save(job);
+        });
+
+        eventPublisher.publishEvent(new PollResolvedEvent(job.getPollId(), job.getWinningOptionId()));
+        System.out.println("[RESOLVE] Poll " + job.getPollId() + " resolved, paid " + job.getPaidCount() + " winners");
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,203 @@
+package service;
+
+import models.PollClosedEvent;
+import models.PollDeletedEvent;
+import models.PollResults;
+import models.VoteBatchEvent;
+import models.VoteRecordedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-poll result vectors loaded from the poll_summary_options read model and moved by committed votes. Each poll has
+// a clock that numbers its published votes and counts the votes whose batch is committing but not yet published. A
+// snapshot is cached only if it was read while nothing was in flight, and it keeps the clock's sequence: votes it
+// already reflects are skipped, and a gap in the sequence drops it so the next read reloads. A closed or deleted poll's
+// clock is dropped together with its snapshot once no batch for it is in flight.
+@Component
+public class PollResultsCache {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<Integer, Cached> results = new ConcurrentHashMap<>();
+    private final Map<Integer, PollClock> clocks = new ConcurrentHashMap<>();
+
+    public PollResultsCache(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<PollResults> get(int pollId) {
+        Cached cached = results.get(pollId);
+        if (cached != null) return Optional.of(cached.results());
+
+        PollClock clock = clock(pollId);
+        long seq = clock.quiescentSeq();
+        PollResults loaded = load(pollId);
+        if (loaded == null) {
+            // Unknown or deleted poll: do not keep the clock the lookup just created.
+            release(pollId);
+            return Optional.empty();
+        }
+        if (seq < 0 || clock.quiescentSeq() != seq) {
+            // Raced with a vote batch: the rows may hold votes whose events are still to come, so serve uncached.
+            return Optional.of(loaded);
+        }
+
+        Cached fresh = new Cached(loaded, seq);
+        Cached existing = results.putIfAbsent(pollId, fresh);
+        if (existing != null) return Optional.of(existing.results());
+
+        // A vote published between the check and the put found no entry to move, or the clock was dropped meanwhile.
+        if (clock.seq() != seq || clocks.get(pollId) != clock) {
+            results.remove(pollId, fresh);
+        }
+        return Optional.of(loaded);
+    }
+
+    public String etag(PollResults snapshot) {
+        return "\"" + snapshot.getPollId() + "-" + epoch + "-" + snapshot.getVersion() + "\"";
+    }
+
+    public void evict(int pollId) {
+        results.remove(pollId);
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    @EventListener
+    public void onVoteBatch(VoteBatchEvent event) {
+        Map<Integer, Integer> byPoll = new HashMap<>();
+        for (VoteRecordedEvent vote : event.votes()) {
+            byPoll.merge(vote.pollId(), 1, Integer::sum);
+        }
+        // Begun inside the map's bin lock, so release cannot drop a clock between the lookup and the begin.
+        byPoll.forEach((pollId, votes) -> clocks.compute(pollId, (id, clock) -> {
+            PollClock begun = clock != null ? clock : new PollClock();
+            begun.begin(votes);
+            return begun;
+        }));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        byPoll.forEach((pollId, votes) -> clock(pollId).abort(votes));
+                    }
+                }
+            });
+        }
+    }
+
+    // Runs first, so a failing listener later in the chain cannot leave the poll's clock committing.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onVoteRecorded(VoteRecordedEvent event) {
+        long seq = clock(event.pollId()).publish();
+        results.computeIfPresent(event.pollId(), (pollId, cached) -> {
+            if (seq <= cached.seq()) return cached;
+            if (seq != cached.seq() + 1) return null;
+            return new Cached(cached.results().withVote(event.optionId(), versions.incrementAndGet()), seq);
+        });
+    }
+
+    @EventListener
+    public void onPollClosed(PollClosedEvent event) {
+        release(event.pollId());
+    }
+
+    @EventListener
+    public void onPollDeleted(PollDeletedEvent event) {
+        release(event.pollId());
+    }
+
+    // A snapshot's sequence only means something against its own clock, so it goes with it. A clock with a batch
+    // still in flight is kept; its votes must publish against the count they began on.
+    private void release(int pollId) {
+        boolean[] released = new boolean[1];
+        clocks.computeIfPresent(pollId, (id, clock) -> {
+            if (clock.quiescentSeq() < 0) return clock;
+            released[0] = true;
+            return null;
+        });
+        if (released[0]) {
+            results.remove(pollId);
+        }
+    }
+
+    private PollClock clock(int pollId) {
+        return clocks.computeIfAbsent(pollId, id -> new PollClock());
+    }
+
+    private PollResults load(int pollId) {
+        List<Integer> ids = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+
+        jdbcTemplate.query(
+                "SELECT option_id, option_text, total_votes FROM poll_summary_options WHERE poll_id = ? ORDER BY option_id",
+                rs -> {
+                    ids.add(rs.getInt(1));
+                    texts.add(rs.getString(2));
+                    counts.add(rs.getInt(3));
+                },
+                pollId);
+
+        if (ids.isEmpty()) {
+            Integer polls = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM poll_summary WHERE poll_id = ?", Integer.class, pollId);
+            if (polls == null || polls == 0) return null;
+        }
+
+        int[] optionIds = new int[ids.size()];
+        int[] votes = new int[ids.size()];
+        for (int i = 0; i < optionIds.length; i++) {
+            optionIds[i] = ids.get(i);
+            votes[i] = counts.get(i);
+        }
+
+        return new PollResults(pollId, optionIds, texts.toArray(new String[0]), votes, versions.incrementAndGet());
+    }
+
+    private record Cached(PollResults results, long seq) {}
+
+    private static final class PollClock {
+
+        private long published;
+        private int committing;
+
+        private synchronized void begin(int votes) {
+            committing += votes;
+        }
+
+        private synchronized void abort(int votes) {
+            committing -= votes;
+        }
+
+        private synchronized long publish() {
+            committing--;
+            return ++published;
+        }
+
+        private synchronized long seq() {
+            return published;
+        }
+
+        // The published sequence, or -1 while a batch touching the poll is still committing or publishing.
+        private synchronized long quiescentSeq() {
+            return committing == 0 ? published : -1;
+        }
+    }
+}
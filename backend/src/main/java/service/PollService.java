@@ -1,31 +1,65 @@
 package service;
 
 import models.*;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import repository.PollRepository;
-import repository.UserBetRepository;
-import repository.UserRepository;
+import repository.VoteRepository;
 
 import javax.xml.transform.Result;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class PollService {
 
     private final PollRepository pollRepository;
-
-    @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private UserBetRepository userBetRepository;
-
-    public PollService(PollRepository pollRepository){
+    private final VoteRepository voteRepository;
+
+    private final VoterBitmapWriteBehind voterBitmapWriteBehind;
+    private final VoteIngestionPipeline voteIngestionPipeline;
+    private final PollResolutionEngine pollResolutionEngine;
+    private final PollExpiryScheduler pollExpiryScheduler;
+    private final ActivePollIndex activePollIndex;
+    private final HotPollRouter hotPollRouter;
+    private final UserVoteIndex userVoteIndex;
+    private final PollResultsCache pollResultsCache;
+    private final PollSummaryProjection pollSummaryProjection;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long voteTimeoutMs;
+
+    public PollService(PollRepository pollRepository,
+                       VoteRepository voteRepository,
+                       VoterBitmapWriteBehind voterBitmapWriteBehind,
+                       VoteIngestionPipeline voteIngestionPipeline,
+                       PollResolutionEngine pollResolutionEngine,
+                       PollExpiryScheduler pollExpiryScheduler,
+                       ActivePollIndex activePollIndex,
+                       HotPollRouter hotPollRouter,
+                       UserVoteIndex userVoteIndex,
+                       PollResultsCache pollResultsCache,
+                       PollSummaryProjection pollSummaryProjection,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${polls.ingestion.vote-timeout-ms:10000}") long voteTimeoutMs){
         this.pollRepository = pollRepository;
+        this.voteRepository = voteRepository;
+        this.voterBitmapWriteBehind = voterBitmapWriteBehind;
+        this.voteIngestionPipeline = voteIngestionPipeline;
+        this.pollResolutionEngine = pollResolutionEngine;
+        this.pollExpiryScheduler = pollExpiryScheduler;
+        this.activePollIndex = activePollIndex;
+        this.hotPollRouter = hotPollRouter;
+        this.userVoteIndex = userVoteIndex;
+        this.pollResultsCache = pollResultsCache;
+        this.pollSummaryProjection = pollSummaryProjection;
+        this.eventPublisher = eventPublisher;
+        this.voteTimeoutMs = voteTimeoutMs;
     }
 
     public ResultError createPoll(Poll poll, User user){
@@ -36,27 +70,21 @@ public class PollService {
 
         poll.setCreator(user);
         pollRepository.save(poll);
+        pollExpiryScheduler.schedule(poll.getId(), poll.getEndDate());
+        eventPublisher.publishEvent(new PollCreatedEvent(poll.getId()));
 
         return new ResultError(true, "");
     }
 
-    public List<Poll> getActivePolls(){
-        LocalDateTime now = LocalDateTime.now();
-        return pollRepository.findByEndDateAfter(now);
-    }
-
     public Optional<Poll> getPollById(int pollId){
         return pollRepository.findById(pollId);
     }
 
     public ResultError vote(int pollId, User user, int optionId, int betAmount) {
-        Poll poll = pollRepository.findById(pollId).orElse(null);
-        if (poll == null) {
-            return new ResultError(false, "Poll not found");
-        }
-
-        if (poll.isExpired()) {
-            return new ResultError(false, "Poll is closed");
+        if (!activePollIndex.isActive(pollId)) {
+            return pollRepository.existsById(pollId)
+                    ? new ResultError(false, "Poll is closed")
+                    : new ResultError(false, "Poll not found");
         }
 
         if (betAmount <= 0) {
@@ -67,27 +95,31 @@ public class PollService {
             return new ResultError(false, "Not enough points");
         }
 
-        Vote selectedOption = poll.getOptions()
-                .stream()
-                .filter(opt -> opt.getId() == optionId)
-                .findFirst()
-                .orElse(null);
-
-        if (selectedOption == null) {
-            return new ResultError(false, "Option not found");
-        }
-
-        selectedOption.addVote(user.getId(), betAmount);
+        CompletableFuture<ResultError> result = hotPollRouter.trySubmit(pollId, optionId, user.getId(), betAmount);
 
-        UserBet userBet = new UserBet(user.getId(), selectedOption.getId(), betAmount);
-        userBetRepository.save(userBet);
+        if (result == null) {
+            // Checked against a (poll_id, option_id) lookup and user_bets, never the Poll aggregate and its bitmaps.
+            if (!voteRepository.existsInPoll(optionId, pollId)) {
+                return new ResultError(false, "Option not found");
+            }
 
-        user.decreasePoints(betAmount);
-        userRepository.save(user);
+            if (userVoteIndex.hasVoted(user.getId(), pollId, optionId)) {
+                return new ResultError(false, "You have already voted for this option");
+            }
 
-        pollRepository.save(poll);
+            result = voteIngestionPipeline.submit(pollId, optionId, user.getId(), betAmount);
+        }
 
-        return new ResultError(true, "Vote successfully registered");
+        try {
+            return result.get(voteTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return new ResultError(false, "Vote is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResultError(false, "Vote interrupted");
+        } catch (ExecutionException e) {
+            return new ResultError(false, "Error voting: " + e.getCause().getMessage());
+        }
     }
 
     public ResultError deletePoll(int pollId){
@@ -97,22 +129,13 @@ public class PollService {
         }
 
         pollRepository.delete(poll);
+        pollExpiryScheduler.cancel(pollId);
+        eventPublisher.publishEvent(new PollDeletedEvent(pollId));
+        pollResultsCache.evict(pollId);
 
         return new ResultError(true, "");
     }
 
-    private int getUserBetAmount(int voteId, int userId) {
-
-        List<UserBet> bets = userBetRepository.findByVoteId(voteId);
-
-        int amount = bets.stream()
-                .filter(bet -> bet.getUserId() == userId)
-                .mapToInt(UserBet::getBetAmount)
-                .findFirst()
-                .orElse(0);
-        return amount;
-    }
-
     public ResultError resolvePoll(int pollId, int winningOptionId) {
 
         Optional<Poll> pollOpt = pollRepository.findById(pollId);
@@ -128,68 +151,23 @@ public class PollService {
             return new ResultError(false, "Poll is still active");
         }
 
+        if (poll.isResolved()) {
+            return new ResultError(false, "Poll already resolved");
+        }
+
         Vote winningOption = poll.getVoteOptionById(winningOptionId);
         if (winningOption == null) {
             System.err.println("[RESOLVE] Invalid winning option!");
             return new ResultError(false, "Invalid winning option");
         }
 
-        int winnerPool = winningOption.getTotalBets();
-        int loserPool = 0;
+        voterBitmapWriteBehind.flush();
 
-        for (Vote option : poll.getOptions()) {
-            if (option.getId() != winningOptionId) {
-                loserPool += option.getTotalBets();
-            }
-        }
-
-        if (loserPool == 0) {
-
-            for (Integer userId : winningOption.getListUsers()) {
-                Optional<User> userOpt = userRepository.findById(userId);
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-                    int userBet = getUserBetAmount(winningOption.getId(), userId);
-                    user.addPoints(userBet);
-                    userRepository.save(user);
-                } else {
-                    System.err.println("[RESOLVE] User " + userId + " not found!");
-                }
-            }
-
-            poll.setResolved(true);
-            pollRepository.save(poll);
-
-            return new ResultError(true, "Poll resolved - no losers, bets returned");
-        }
-
-        if (winnerPool > 0) {
-
-            for (Integer userId : winningOption.getListUsers()) {
-                Optional<User> userOpt = userRepository.findById(userId);
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
-
-                    int userBet = getUserBetAmount(winningOption.getId(), userId);
-
-                    double userPercentage = (double) userBet / winnerPool;
-
-                    int winnings = (int) Math.round(userBet + (userPercentage * loserPool));
-
-                    user.addPoints(winnings);
-                    userRepository.save(user);
-
-                } else {
-                    System.err.println("[RESOLVE] Winner user " + userId + " not found!");
-                }
-            }
-        }
-
-        poll.setWinningOptionId(winningOptionId);
-        poll.setResolved(true);
-        pollRepository.save(poll);
+        return pollResolutionEngine.start(pollId, winningOptionId);
+    }
 
-        return new ResultError(true, "Poll resolved successfully. Winners rewarded!");
+    public Optional<PollResolutionJob> getResolutionJob(int pollId) {
+        return pollResolutionEngine.getJob(pollId);
     }
 
     public ResultError updatePoll(int pollId, Poll updatedPoll, User user) {
@@ -204,6 +182,9 @@ public class PollService {
         existingPoll.setOptions(updatedPoll.getOptions());
         existingPoll.setEndDate(updatedPoll.getEndDate());
         pollRepository.save(existingPoll);
+        pollExpiryScheduler.schedule(pollId, existingPoll.getEndDate());
+        eventPublisher.publishEvent(new PollUpdatedEvent(pollId));
+        pollResultsCache.evict(pollId);
 
         return new ResultError(true, "Poll updated successfully");
     }
@@ -213,14 +194,20 @@ public class PollService {
     }
 
     public Map<String, Double> getResults(int pollId) {
-        Optional<Poll> pollOpt = pollRepository.findById(pollId);
-        if (pollOpt.isEmpty()) return Map.of();
+        return pollResultsCache.get(pollId).map(PollResults::getPercentages).orElse(Map.of());
+    }
 
-        Poll poll = pollOpt.get();
-        return poll.calculateResults();
+    public Optional<PollResults> getResultsSnapshot(int pollId) {
+        return pollResultsCache.get(pollId);
+    }
+
+    public String getResultsETag(PollResults results) {
+        return pollResultsCache.etag(results);
     }
 
-    public List<Poll> getAllPolls() {
-        return pollRepository.findAll();
+    public Map<String, Object> rebuildSummaries() {
+        Map<String, Object> stats = pollSummaryProjection.rebuildAll();
+        pollResultsCache.clear();
+        return stats;
     }
 }
@@ -0,0 +1,271 @@
+package service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import models.PollResults;
+import models.VoteRecordedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Committed votes are folded into per-poll deltas and published at most maxFramesPerSecond times per poll.
+// Frames carry absolute totals next to the deltas, so a subscriber whose bounded queue overflows just loses the
+// oldest frames; one that keeps overflowing is disconnected. Sends run on a separate pool, never on the voter's thread.
+@Service
+public class PollStreamService {
+
+    private final PollResultsCache pollResultsCache;
+    private final int maxFramesPerSecond;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxDroppedFrames;
+
+    private final Map<Integer, Set<Subscriber>> subscribersByPoll = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, PollDelta> dirty = new ConcurrentHashMap<>();
+
+    private final LongAdder framesPublished = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder framesDropped = new LongAdder();
+    private final LongAdder subscribersDropped = new LongAdder();
+    private final LongAdder fanOutNanos = new LongAdder();
+    private final AtomicLong maxFanOutNanos = new AtomicLong();
+
+    private final ScheduledExecutorService coalescer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "poll-stream-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    public PollStreamService(PollResultsCache pollResultsCache,
+                             @Value("${polls.stream.max-frames-per-second:4}") int maxFramesPerSecond,
+                             @Value("${polls.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${polls.stream.queue-capacity:32}") int queueCapacity,
+                             @Value("${polls.stream.max-dropped-frames:64}") int maxDroppedFrames,
+                             @Value("${polls.stream.sender-threads:4}") int senderThreads) {
+        this.pollResultsCache = pollResultsCache;
+        this.maxFramesPerSecond = Math.max(1, maxFramesPerSecond);
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxDroppedFrames = maxDroppedFrames;
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "poll-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMs = 1000L / maxFramesPerSecond;
+        coalescer.scheduleAtFixedRate(this::publishFrames, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Collection<Integer> pollIds) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(pollIds));
+
+        subscribers.add(subscriber);
+        for (int pollId : subscriber.pollIds) {
+            subscribersByPoll.compute(pollId, (id, current) -> {
+                Set<Subscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        long now = System.nanoTime();
+        for (int pollId : subscriber.pollIds) {
+            pollResultsCache.get(pollId)
+                    .ifPresent(results -> subscriber.offer(new Frame("snapshot", frameData(results, null), now)));
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onVoteRecorded(VoteRecordedEvent event) {
+        if (!subscribersByPoll.containsKey(event.pollId())) return;
+
+        dirty.compute(event.pollId(), (pollId, delta) -> {
+            PollDelta updated = delta != null ? delta : new PollDelta();
+            updated.add(event.optionId(), event.betAmount());
+            return updated;
+        });
+    }
+
+    private void publishFrames() {
+        try {
+            for (Integer pollId : dirty.keySet()) {
+                PollDelta delta = dirty.remove(pollId);
+                Set<Subscriber> targets = subscribersByPoll.get(pollId);
+                if (delta == null || targets == null || targets.isEmpty()) continue;
+
+                PollResults results = pollResultsCache.get(pollId).orElse(null);
+                if (results == null) continue;
+
+                Frame frame = new Frame("tally", frameData(results, delta), System.nanoTime());
+                framesPublished.increment();
+                for (Subscriber subscriber : targets) {
+                    subscriber.offer(frame);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[STREAM] Failed to publish frames: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> frameData(PollResults results, PollDelta delta) {
+        int[] optionIds = results.getOptionIds();
+        int[] votes = results.getVotes();
+
+        List<Map<String, Object>> options = new ArrayList<>(optionIds.length);
+        for (int i = 0; i < optionIds.length; i++) {
+            Map<String, Object> option = new LinkedHashMap<>();
+            option.put("optionId", optionIds[i]);
+            option.put("totalVotes", votes[i]);
+            if (delta != null) {
+                long[] change = delta.byOption.get(optionIds[i]);
+                option.put("deltaVotes", change != null ? change[0] : 0);
+                option.put("deltaBets", change != null ? change[1] : 0);
+            }
+            options.add(option);
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("pollId", results.getPollId());
+        data.put("version", results.getVersion());
+        data.put("totalVotes", results.getTotalVotes());
+        data.put("options", options);
+        return data;
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) return;
+
+        for (int pollId : subscriber.pollIds) {
+            subscribersByPoll.computeIfPresent(pollId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribersDropped.increment();
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    public Map<String, Object> getStats() {
+        long sent = framesSent.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxFramesPerSecond", maxFramesPerSecond);
+        stats.put("connections", subscribers.size());
+        stats.put("streamedPolls", subscribersByPoll.size());
+        stats.put("framesPublished", framesPublished.sum());
+        stats.put("framesSent", sent);
+        stats.put("framesDropped", framesDropped.sum());
+        stats.put("subscribersDropped", subscribersDropped.sum());
+        stats.put("avgFanOutMs", sent == 0 ? 0.0 : fanOutNanos.sum() / 1e6 / sent);
+        stats.put("maxFanOutMs", maxFanOutNanos.get() / 1e6);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescer.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        subscribersByPoll.clear();
+    }
+
+    private static final class PollDelta {
+
+        private final Map<Integer, long[]> byOption = new HashMap<>();
+
+        private void add(int optionId, int betAmount) {
+            long[] change = byOption.computeIfAbsent(optionId, id -> new long[2]);
+            change[0]++;
+            change[1] += betAmount;
+        }
+    }
+
+    private record Frame(String name, Map<String, Object> data, long createdNanos) {}
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Integer> pollIds;
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private int droppedInRow;
+
+        private Subscriber(SseEmitter emitter, Set<Integer> pollIds) {
+            this.emitter = emitter;
+            this.pollIds = pollIds;
+        }
+
+        private void offer(Frame frame) {
+            synchronized (queue) {
+                if (queue.size() >= queueCapacity) {
+                    queue.pollFirst();
+                    framesDropped.increment();
+                    if (++droppedInRow > maxDroppedFrames) {
+                        queue.clear();
+                        drop(this);
+                        return;
+                    }
+                }
+                queue.addLast(frame);
+            }
+
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Frame frame;
+                synchronized (queue) {
+                    frame = queue.pollFirst();
+                    if (frame == null) {
+                        droppedInRow = 0;
+                        draining.set(false);
+                        return;
+                    }
+                }
+
+                try {
+                    emitter.send(SseEmitter.event().name(frame.name()).data(frame.data(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    remove(this);
+                    draining.set(false);
+                    return;
+                }
+
+                long elapsed = System.nanoTime() - frame.createdNanos();
+                framesSent.increment();
+                fanOutNanos.add(elapsed);
+                maxFanOutNanos.accumulateAndGet(elapsed, Math::max);
+            }
+        }
+    }
+}
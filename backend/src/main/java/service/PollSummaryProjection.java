@@ -0,0 +1,210 @@
+package service;
+
+import models.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Maintains the poll_summary / poll_summary_options read model. Vote deltas are applied inside the ingestion
+// transaction; create/update rebuild the poll's rows from the source tables. Rebuilds lock the summary rows first
+// and recount from user_bets, so they serialize with concurrent vote batches instead of overwriting them.
+@Service
+public class PollSummaryProjection {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildThreads;
+    private final int rebuildChunkSize;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public PollSummaryProjection(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${polls.projection.rebuild-threads:4}") int rebuildThreads,
+                                 @Value("${polls.projection.rebuild-chunk-size:500}") int rebuildChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildThreads = rebuildThreads;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        Integer polls = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM polls", Integer.class);
+        Integer summaries = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM poll_summary", Integer.class);
+
+        if (polls != null && summaries != null && !polls.equals(summaries)) {
+            Map<String, Object> stats = rebuildAll();
+            System.out.println("[PROJECTION] Rebuilt poll summaries on startup: " + stats);
+        }
+    }
+
+    @EventListener
+    public void onPollCreated(PollCreatedEvent event) {
+        rebuildChunk(List.of(event.pollId()));
+    }
+
+    @EventListener
+    public void onPollUpdated(PollUpdatedEvent event) {
+        rebuildChunk(List.of(event.pollId()));
+    }
+
+    @EventListener
+    public void onPollDeleted(PollDeletedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM poll_summary_options WHERE poll_id = ?", event.pollId());
+            jdbcTemplate.update("DELETE FROM poll_summary WHERE poll_id = ?", event.pollId());
+        });
+    }
+
+    @EventListener
+    public void onPollResolved(PollResolvedEvent event) {
+        jdbcTemplate.update(
+                "UPDATE poll_summary SET resolved = true, winning_option_id = ?, updated_at = ? WHERE poll_id = ?",
+                event.winningOptionId(), now(), event.pollId());
+    }
+
+    @EventListener
+    public void onPollClosed(PollClosedEvent event) {
+        jdbcTemplate.update("UPDATE poll_summary SET closed = true, updated_at = ? WHERE poll_id = ?",
+                now(), event.pollId());
+    }
+
+    @EventListener
+    public void onVoteBatch(VoteBatchEvent event) {
+        SortedMap<Integer, long[]> byPoll = new TreeMap<>();
+        SortedMap<Integer, long[]> byOption = new TreeMap<>();
+        for (VoteRecordedEvent vote : event.votes()) {
+            long[] poll = byPoll.computeIfAbsent(vote.pollId(), id -> new long[2]);
+            poll[0]++;
+            poll[1] += vote.betAmount();
+            long[] option = byOption.computeIfAbsent(vote.optionId(), id -> new long[2]);
+            option[0]++;
+            option[1] += vote.betAmount();
+        }
+        if (byPoll.isEmpty()) return;
+
+        Timestamp updatedAt = now();
+        List<Object[]> pollDeltas = new ArrayList<>(byPoll.size());
+        byPoll.forEach((pollId, delta) -> pollDeltas.add(new Object[]{delta[0], delta[1], updatedAt, pollId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE poll_summary SET total_votes = total_votes + ?, total_bets = total_bets + ?, updated_at = ? " +
+                        "WHERE poll_id = ?", pollDeltas);
+
+        List<Object[]> optionDeltas = new ArrayList<>(byOption.size());
+        byOption.forEach((optionId, delta) -> optionDeltas.add(new Object[]{delta[0], delta[1], optionId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE poll_summary_options SET total_votes = total_votes + ?, total_bets = total_bets + ? " +
+                        "WHERE option_id = ?", optionDeltas);
+    }
+
+    public Map<String, Object> rebuildAll() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Poll summary rebuild already running");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads, r -> {
+            Thread thread = new Thread(r, "poll-summary-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            long start = System.nanoTime();
+            List<Integer> pollIds = jdbcTemplate.queryForList("SELECT id FROM polls ORDER BY id", Integer.class);
+
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < pollIds.size(); from += rebuildChunkSize) {
+                List<Integer> chunk = pollIds.subList(from, Math.min(pollIds.size(), from + rebuildChunkSize));
+                chunks.add(executor.submit(() -> rebuildChunk(chunk)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+
+            int removed = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM poll_summary_options WHERE poll_id NOT IN (SELECT id FROM polls)");
+                return jdbcTemplate.update("DELETE FROM poll_summary WHERE poll_id NOT IN (SELECT id FROM polls)");
+            });
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("polls", pollIds.size());
+            stats.put("chunks", chunks.size());
+            stats.put("threads", rebuildThreads);
+            stats.put("removed", removed);
+            stats.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return stats;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Poll summary rebuild interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Poll summary rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    private void rebuildChunk(List<Integer> pollIds) {
+        String in = String.join(",", Collections.nCopies(pollIds.size(), "?"));
+        Object[] ids = pollIds.toArray();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT poll_id FROM poll_summary WHERE poll_id IN (" + in + ") FOR UPDATE",
+                    Integer.class, ids);
+
+            List<Object[]> options = new ArrayList<>();
+            Map<Integer, long[]> totals = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT v.id, v.poll_id, v.option_text, COUNT(DISTINCT b.user_id), COALESCE(SUM(b.bet_amount), 0) " +
+                            "FROM votes v LEFT JOIN user_bets b ON b.vote_id = v.id " +
+                            "WHERE v.poll_id IN (" + in + ") GROUP BY v.id, v.poll_id, v.option_text",
+                    rs -> {
+                        int pollId = rs.getInt(2);
+                        options.add(new Object[]{rs.getInt(1), pollId, rs.getString(3), rs.getInt(4), rs.getLong(5)});
+                        long[] total = totals.computeIfAbsent(pollId, id -> new long[2]);
+                        total[0] += rs.getInt(4);
+                        total[1] += rs.getLong(5);
+                    },
+                    ids);
+
+            Timestamp updatedAt = now();
+            List<Object[]> polls = new ArrayList<>(pollIds.size());
+            jdbcTemplate.query(
+                    "SELECT p.id, p.title, p.description, p.date, p.end_date, p.creator_id, u.name, p.closed, " +
+                            "p.resolved, p.winning_option_id FROM polls p LEFT JOIN users u ON u.id = p.creator_id " +
+                            "WHERE p.id IN (" + in + ")",
+                    rs -> {
+                        long[] total = totals.getOrDefault(rs.getInt(1), new long[2]);
+                        polls.add(new Object[]{rs.getInt(1), rs.getString(2), rs.getString(3), rs.getTimestamp(4),
+                                rs.getTimestamp(5), rs.getInt(6), rs.getString(7), rs.getBoolean(8), rs.getBoolean(9),
+                                rs.getObject(10), total[0], total[1], updatedAt});
+                    },
+                    ids);
+
+            jdbcTemplate.update("DELETE FROM poll_summary_options WHERE poll_id IN (" + in + ")", ids);
+            jdbcTemplate.update("DELETE FROM poll_summary WHERE poll_id IN (" + in + ")", ids);
+
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO poll_summary (poll_id, title, description, date, end_date, creator_id, creator_name, " +
+                            "closed, resolved, winning_option_id, total_votes, total_bets, updated_at) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", polls);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO poll_summary_options (option_id, poll_id, option_text, total_votes, total_bets) " +
+                            "VALUES (?, ?, ?, ?, ?)", options);
+        });
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
@@ -1,6 +1,8 @@
 package service;
 
+import models.PointsChangedEvent;
 import models.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import repository.UserRepository;
 
@@ -12,10 +14,12 @@ public class SpinService {
 
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Random random = new Random();
 
-    public SpinService(UserRepository userRepository) {
+    public SpinService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public int dailySpin(User user) {
@@ -26,9 +30,11 @@ public class SpinService {
         }
 
         int points = 5 + random.nextInt(16);
-        user.addPoints(points);
         user.setLastSpinDate(today);
         userRepository.save(user);
+        userRepository.addPoints(user.getId(), points);
+        user.addPoints(points);
+        eventPublisher.publishEvent(new PointsChangedEvent(user.getId(), points));
 
         return points;
     }
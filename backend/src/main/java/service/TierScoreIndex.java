@@ -0,0 +1,139 @@
+package service;
+
+import models.Achievement;
+import models.AchievementAwardedEvent;
+import models.AchievementRevokedEvent;
+import models.UserRegisteredEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import utils.RankTree;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-user badge counts by tier (int[6], BadgeTier ordinal) and their sum(BadgeTier.rank), built in one pass over
+// user_achievements at startup and moved by award/revoke events. Every user is ranked twice, by tier score and by
+// badge count, both with user id as the tie-breaker like the achievement_count rank query.
+@Component
+public class TierScoreIndex {
+
+    private static final Achievement.BadgeTier[] TIERS = Achievement.BadgeTier.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, int[]> tierCounts = new HashMap<>();
+    private final RankTree scores = new RankTree();
+    private final RankTree badges = new RankTree();
+    private boolean loaded;
+
+    public TierScoreIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        tierCounts.clear();
+        jdbcTemplate.query("SELECT id FROM users", rs -> {
+            scores.put(rs.getInt(1), 0);
+            badges.put(rs.getInt(1), 0);
+        });
+        jdbcTemplate.query(
+                "SELECT ua.user_id, a.tier FROM user_achievements ua JOIN achievements a ON a.id = ua.achievement_id",
+                rs -> {
+                    int[] counts = tierCounts.computeIfAbsent(rs.getInt(1), id -> new int[TIERS.length]);
+                    counts[Achievement.BadgeTier.valueOf(rs.getString(2)).ordinal()]++;
+                });
+
+        tierCounts.forEach((userId, counts) -> {
+            scores.put(userId, score(counts));
+            badges.put(userId, badgeCount(counts));
+        });
+        loaded = true;
+        System.out.println("[TIERS] Loaded tier scores for " + scores.size() + " users, " + tierCounts.size() + " with badges");
+    }
+
+    @EventListener
+    public synchronized void onUserRegistered(UserRegisteredEvent event) {
+        if (!loaded || scores.contains(event.userId())) return;
+        scores.put(event.userId(), 0);
+        badges.put(event.userId(), 0);
+    }
+
+    @EventListener
+    public synchronized void onAwarded(AchievementAwardedEvent event) {
+        if (!loaded) return;
+        apply(event.userId(), event.tier(), 1);
+    }
+
+    @EventListener
+    public synchronized void onRevoked(AchievementRevokedEvent event) {
+        if (!loaded) return;
+        apply(event.userId(), event.tier(), -1);
+    }
+
+    private void apply(int userId, Achievement.BadgeTier tier, int delta) {
+        int[] counts = tierCounts.computeIfAbsent(userId, id -> new int[TIERS.length]);
+        counts[tier.ordinal()] = Math.max(0, counts[tier.ordinal()] + delta);
+
+        scores.put(userId, score(counts));
+        badges.put(userId, badgeCount(counts));
+        if (badgeCount(counts) == 0) {
+            tierCounts.remove(userId);
+        }
+    }
+
+    private static int score(int[] counts) {
+        int score = 0;
+        for (int i = 0; i < counts.length; i++) {
+            score += counts[i] * TIERS[i].getRank();
+        }
+        return score;
+    }
+
+    private static int badgeCount(int[] counts) {
+        int badges = 0;
+        for (int count : counts) {
+            badges += count;
+        }
+        return badges;
+    }
+
+    public synchronized Entry[] top(int k) {
+        int[] userIds = scores.top(k);
+        Entry[] entries = new Entry[userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            entries[i] = entry(userIds[i]);
+        }
+        return entries;
+    }
+
+    public synchronized Entry get(int userId) {
+        return scores.contains(userId) ? entry(userId) : null;
+    }
+
+    public synchronized int tierRank(int userId) {
+        return scores.rank(userId);
+    }
+
+    public synchronized int badgeRank(int userId) {
+        return badges.rank(userId);
+    }
+
+    // {badge ranks, tier ranks} for each id, -1 where unknown, read under a single lock acquisition.
+    public synchronized int[][] ranks(int[] userIds) {
+        int[][] ranks = new int[2][userIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            ranks[0][i] = badges.rank(userIds[i]);
+            ranks[1][i] = scores.rank(userIds[i]);
+        }
+        return ranks;
+    }
+
+    private Entry entry(int userId) {
+        int[] counts = tierCounts.getOrDefault(userId, new int[TIERS.length]);
+        return new Entry(userId, score(counts), badgeCount(counts), counts.clone());
+    }
+
+    public record Entry(int userId, int tierScore, int badgeCount, int[] tierCounts) {}
+}
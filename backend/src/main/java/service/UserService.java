@@ -1,7 +1,10 @@
 package service;
 
+import models.PointsChangedEvent;
 import models.ResultError;
 import models.User;
+import models.UserRegisteredEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import repository.UserRepository;
 
@@ -12,9 +15,11 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ResultError createUser(String name, String email, String password) {
@@ -25,6 +30,7 @@ public class UserService {
         try {
             User user = new User(name, email, password);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserRegisteredEvent(user.getId()));
             return new ResultError(true, "User created successfully");
         } catch (Exception e) {
             return new ResultError(false, "Failed to create user: " + e.getMessage());
@@ -54,16 +60,17 @@ public class UserService {
     }
 
     public void addPoints(User user, int points) {
+        userRepository.addPoints(user.getId(), points);
         user.addPoints(points);
-        userRepository.save(user);
+        eventPublisher.publishEvent(new PointsChangedEvent(user.getId(), points));
     }
 
     public ResultError decreasePoints(User user, int points) {
-        if (user.getPoints() < points) {
+        if (userRepository.decreasePoints(user.getId(), points) == 0) {
             return new ResultError(false, "Points can't be less than " + points);
         }
         user.decreasePoints(points);
-        userRepository.save(user);
+        eventPublisher.publishEvent(new PointsChangedEvent(user.getId(), -points));
         return new ResultError(true, "");
     }
 
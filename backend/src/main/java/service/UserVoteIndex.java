@@ -0,0 +1,95 @@
+package service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cache of user -> (pollId -> voted option ids), loaded from user_bets(user_id, poll_id) on first access
+// and kept current by the ingestion pipeline after each committed batch.
+@Component
+public class UserVoteIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxUsers;
+    private final Map<Integer, UserVotes> users = new ConcurrentHashMap<>();
+
+    public UserVoteIndex(JdbcTemplate jdbcTemplate,
+                         @Value("${polls.user-votes.cache-size:10000}") int maxUsers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxUsers = maxUsers;
+    }
+
+    public List<Integer> votedOptions(int userId, int pollId) {
+        return load(userId).get(pollId);
+    }
+
+    public Map<Integer, List<Integer>> votedOptions(int userId, Collection<Integer> pollIds) {
+        UserVotes votes = load(userId);
+        Map<Integer, List<Integer>> result = new HashMap<>();
+        for (int pollId : pollIds) {
+            result.put(pollId, votes.get(pollId));
+        }
+        return result;
+    }
+
+    public boolean hasVoted(int userId, int pollId, int optionId) {
+        return load(userId).get(pollId).contains(optionId);
+    }
+
+    void record(int userId, int pollId, int optionId) {
+        UserVotes votes = users.get(userId);
+        if (votes != null) {
+            votes.add(pollId, optionId);
+        }
+    }
+
+    private UserVotes load(int userId) {
+        if (!users.containsKey(userId)) {
+            evictIfFull();
+        }
+        UserVotes votes = users.computeIfAbsent(userId, id -> new UserVotes());
+
+        synchronized (votes) {
+            if (!votes.loaded) {
+                jdbcTemplate.query("SELECT poll_id, vote_id FROM user_bets WHERE user_id = ? AND poll_id IS NOT NULL",
+                        rs -> {
+                            votes.add(rs.getInt(1), rs.getInt(2));
+                        },
+                        userId);
+                votes.loaded = true;
+            }
+        }
+        return votes;
+    }
+
+    private void evictIfFull() {
+        if (users.size() < maxUsers) return;
+
+        Iterator<Integer> iterator = users.keySet().iterator();
+        for (int evicted = 0; evicted < maxUsers / 10 + 1 && iterator.hasNext(); evicted++) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class UserVotes {
+
+        private final Map<Integer, List<Integer>> byPoll = new HashMap<>();
+        private boolean loaded;
+
+        private synchronized void add(int pollId, int optionId) {
+            List<Integer> options = byPoll.computeIfAbsent(pollId, id -> new ArrayList<>(2));
+            if (!options.contains(optionId)) {
+                options.add(optionId);
+            }
+        }
+
+        private synchronized List<Integer> get(int pollId) {
+            List<Integer> options = byPoll.get(pollId);
+            return options != null ? new ArrayList<>(options) : new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import models.ResultError;
+import models.VoteBatchEvent;
+import models.VoteRecordedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class VoteIngestionPipeline {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VoterBitmapWriteBehind voterBitmapWriteBehind;
+    private final UserVoteIndex userVoteIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingVote> queue;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedVotes = new LongAdder();
+    private final LongAdder committedVotes = new LongAdder();
+    private final LongAdder rejectedVotes = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public VoteIngestionPipeline(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 VoterBitmapWriteBehind voterBitmapWriteBehind,
+                                 UserVoteIndex userVoteIndex,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${polls.ingestion.batch-size:256}") int batchSize,
+                                 @Value("${polls.ingestion.linger-ms:5}") long lingerMs,
+                                 @Value("${polls.ingestion.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.voterBitmapWriteBehind = voterBitmapWriteBehind;
+        this.userVoteIndex = userVoteIndex;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "vote-ingestion-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public CompletableFuture<ResultError> submit(int pollId, int optionId, int userId, int betAmount) {
+        long key = ((long) optionId << 32) | (userId & 0xFFFFFFFFL);
+        if (!inFlight.add(key)) {
+            return CompletableFuture.completedFuture(new ResultError(false, "You have already voted for this option"));
+        }
+
+        PendingVote vote = new PendingVote(key, pollId, optionId, userId, betAmount, new CompletableFuture<>());
+        if (!running || !queue.offer(vote)) {
+            inFlight.remove(key);
+            return CompletableFuture.completedFuture(new ResultError(false, "Too many votes right now, please retry"));
+        }
+        return vote.result();
+    }
+
+    private void drainLoop() {
+        List<PendingVote> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+
+                    PendingVote next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    commit(batch);
+                } catch (RuntimeException e) {
+                    System.err.println("[INGEST] Unexpected error committing a batch of " + batch.size() + " votes: "
+                            + e.getMessage());
+                    for (PendingVote vote : batch) {
+                        inFlight.remove(vote.key());
+                        vote.result().complete(new ResultError(false, "Error voting: " + e.getMessage()));
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingVote> batch) {
+        long start = System.nanoTime();
+        List<PendingVote> funded = new ArrayList<>(batch.size());
+        List<PendingVote> recorded = new ArrayList<>(batch.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // The unique (vote_id, user_id) key is the durable duplicate guard: a vote that inserts no row was
+                // already recorded, even if its voter never reached the bitmap before a restart.
+                recorded.addAll(affected(batch, jdbcTemplate.batchUpdate(
+                        "INSERT IGNORE INTO user_bets (user_id, poll_id, vote_id, bet_amount) VALUES (?, ?, ?, ?)",
+                        batch, batch.size(), (ps, vote) -> {
+                            ps.setInt(1, vote.userId());
+                            ps.setInt(2, vote.pollId());
+                            ps.setInt(3, vote.optionId());
+                            ps.setInt(4, vote.betAmount());
+                        })));
+
+                funded.addAll(affected(recorded, jdbcTemplate.batchUpdate(
+                        "UPDATE users SET points = points - ? WHERE id = ? AND points >= ?",
+                        recorded, recorded.size(), (ps, vote) -> {
+                            ps.setInt(1, vote.betAmount());
+                            ps.setInt(2, vote.userId());
+                            ps.setInt(3, vote.betAmount());
+                        })));
+
+                if (funded.size() < recorded.size()) {
+                    Set<PendingVote> paid = Collections.newSetFromMap(new IdentityHashMap<>());
+                    paid.addAll(funded);
+                    List<PendingVote> unfunded = recorded.stream().filter(vote -> !paid.contains(vote)).toList();
+                    jdbcTemplate.batchUpdate("DELETE FROM user_bets WHERE vote_id = ? AND user_id = ?",
+                            unfunded, unfunded.size(), (ps, vote) -> {
+                                ps.setInt(1, vote.optionId());
+                                ps.setInt(2, vote.userId());
+                            });
+                }
+
+                SortedMap<Integer, long[]> byOption = new TreeMap<>();
+                for (PendingVote vote : funded) {
+                    long[] delta = byOption.computeIfAbsent(vote.optionId(), id -> new long[2]);
+                    delta[0]++;
+                    delta[1] += vote.betAmount();
+                }
+                List<Object[]> optionDeltas = new ArrayList<>(byOption.size());
+                byOption.forEach((optionId, delta) -> optionDeltas.add(new Object[]{delta[0], delta[1], optionId}));
+                jdbcTemplate.batchUpdate(
+                        "UPDATE votes SET voter_count = voter_count + ?, total_bets = total_bets + ? WHERE id = ?",
+                        optionDeltas);
+
+                eventPublisher.publishEvent(new VoteBatchEvent(funded.stream().map(PendingVote::event).toList()));
+            });
+        } catch (RuntimeException e) {
+            System.err.println("[INGEST] Batch of " + batch.size() + " votes failed: " + e.getMessage());
+            failedBatches.increment();
+            for (PendingVote vote : batch) {
+                inFlight.remove(vote.key());
+                vote.result().complete(new ResultError(false, "Error voting: " + e.getMessage()));
+            }
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        batches.increment();
+        batchedVotes.add(batch.size());
+        commitNanos.add(elapsed);
+        maxCommitNanos.accumulateAndGet(elapsed, Math::max);
+
+        Set<PendingVote> accepted = Collections.newSetFromMap(new IdentityHashMap<>());
+        accepted.addAll(funded);
+        Set<PendingVote> fresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        fresh.addAll(recorded);
+
+        // The votes are committed at this point: a failing listener is logged, never allowed to kill the writer
+        // thread or leave a caller waiting.
+        for (PendingVote vote : batch) {
+            ResultError result = fresh.contains(vote)
+                    ? new ResultError(false, "Not enough points")
+                    : new ResultError(false, "You have already voted for this option");
+            try {
+                if (accepted.contains(vote)) {
+                    result = new ResultError(true, "Vote successfully registered");
+                    committedVotes.increment();
+                    voterBitmapWriteBehind.record(vote.optionId(), vote.userId());
+                    userVoteIndex.record(vote.userId(), vote.pollId(), vote.optionId());
+                    eventPublisher.publishEvent(vote.event());
+                } else {
+                    rejectedVotes.increment();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("[INGEST] Post-commit handling of vote on option " + vote.optionId() + " failed: "
+                        + e.getMessage());
+            } finally {
+                inFlight.remove(vote.key());
+                vote.result().complete(result);
+            }
+        }
+    }
+
+    // The items whose statement in a batchUpdate affected a row, in order.
+    private static <T> List<T> affected(List<T> items, int[][] counts) {
+        List<T> result = new ArrayList<>(items.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) result.add(items.get(index));
+                index++;
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("batchSize", batchSize);
+        stats.put("lingerMs", TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+        stats.put("queueDepth", queue.size());
+        stats.put("batches", batchCount);
+        stats.put("failedBatches", failedBatches.sum());
+        stats.put("committedVotes", committedVotes.sum());
+        stats.put("rejectedVotes", rejectedVotes.sum());
+        stats.put("avgBatchSize", batchCount == 0 ? 0.0 : (double) batchedVotes.sum() / batchCount);
+        stats.put("avgBatchFill", batchCount == 0 ? 0.0 : (double) batchedVotes.sum() / (batchCount * batchSize));
+        stats.put("avgCommitMs", batchCount == 0 ? 0.0 : commitNanos.sum() / 1e6 / batchCount);
+        stats.put("maxCommitMs", maxCommitNanos.get() / 1e6);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private record PendingVote(long key, int pollId, int optionId, int userId, int betAmount,
+                               CompletableFuture<ResultError> result) {
+
+        private VoteRecordedEvent event() {
+            return new VoteRecordedEvent(pollId, optionId, userId, betAmount);
+        }
+    }
+}
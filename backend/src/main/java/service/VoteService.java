@@ -35,7 +35,7 @@ public class VoteService {
 
         Vote option = optionOpt.get();
 
-        if (option.getListUsers().contains(user.getId())) {
+        if (option.hasVoted(user.getId())) {
             return new ResultError(false, "You can't vote another user");
         }
 
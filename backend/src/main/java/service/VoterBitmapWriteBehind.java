@@ -0,0 +1,172 @@
+package service;
+
+import jakarta.annotation.PreDestroy;
+import models.PollClosedEvent;
+import models.TallyFlushedEvent;
+import models.Vote;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import repository.VoteRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Write-behind for the per-option voter bitmaps. Vote counts and bet totals are committed with the vote batch
+// itself; this only batches the bitmap rewrites and answers "already voted" for voters not yet flushed.
+@Service
+public class VoterBitmapWriteBehind {
+
+    private final VoteRepository voteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int flushSize;
+
+    private final ConcurrentHashMap<Integer, OptionVoters> pendingByOption = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingVotes = new AtomicInteger();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final Object flushLock = new Object();
+
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "voter-bitmap-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VoterBitmapWriteBehind(VoteRepository voteRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${polls.tally.flush-size:500}") int flushSize) {
+        this.voteRepository = voteRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushSize = flushSize;
+    }
+
+    public boolean record(int optionId, int userId) {
+        OptionVoters voters = pendingByOption.computeIfAbsent(optionId, OptionVoters::new);
+        if (!voters.add(userId)) {
+            return false;
+        }
+
+        if (pendingVotes.incrementAndGet() >= flushSize && flushQueued.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushQueued.set(false);
+                }
+            });
+        }
+        return true;
+    }
+
+    public boolean hasPendingVote(int optionId, int userId) {
+        OptionVoters voters = pendingByOption.get(optionId);
+        return voters != null && voters.contains(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${polls.tally.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<OptionVoters> draining = new ArrayList<>();
+            int drainedVotes = 0;
+
+            for (OptionVoters voters : pendingByOption.values()) {
+                int drained = voters.beginFlush();
+                if (drained >= 0) {
+                    draining.add(voters);
+                    drainedVotes += drained;
+                }
+            }
+
+            if (draining.isEmpty()) return;
+            pendingVotes.addAndGet(-drainedVotes);
+
+            Set<Integer> pollIds = new HashSet<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<Integer, OptionVoters> byOption = new HashMap<>();
+                    draining.forEach(voters -> byOption.put(voters.optionId, voters));
+
+                    List<Vote> options = voteRepository.findAllById(byOption.keySet());
+                    for (Vote option : options) {
+                        OptionVoters voters = byOption.get(option.getId());
+                        option.applyVoters(voters.inFlightVoters);
+                        pollIds.add(option.getPoll().getId());
+                    }
+                    voteRepository.saveAll(options);
+                });
+
+                draining.forEach(OptionVoters::endFlush);
+                eventPublisher.publishEvent(new TallyFlushedEvent(pollIds));
+            } catch (RuntimeException e) {
+                System.err.println("[VOTERS] Bitmap flush failed, keeping voters for next run: " + e.getMessage());
+                for (OptionVoters voters : draining) {
+                    pendingVotes.addAndGet(voters.abortFlush());
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onPollClosed(PollClosedEvent event) {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flusher.shutdown();
+    }
+
+    private static final class OptionVoters {
+
+        private final int optionId;
+        private final Set<Integer> pendingVoters = ConcurrentHashMap.newKeySet();
+
+        private volatile Set<Integer> inFlightVoters = Set.of();
+
+        private OptionVoters(int optionId) {
+            this.optionId = optionId;
+        }
+
+        private boolean add(int userId) {
+            return !inFlightVoters.contains(userId) && pendingVoters.add(userId);
+        }
+
+        private boolean contains(int userId) {
+            return pendingVoters.contains(userId) || inFlightVoters.contains(userId);
+        }
+
+        private int beginFlush() {
+            if (pendingVoters.isEmpty()) {
+                return -1;
+            }
+
+            Set<Integer> voters = new HashSet<>(pendingVoters);
+            inFlightVoters = voters;
+            pendingVoters.removeAll(voters);
+            return voters.size();
+        }
+
+        private void endFlush() {
+            inFlightVoters = Set.of();
+        }
+
+        private int abortFlush() {
+            Set<Integer> voters = inFlightVoters;
+            pendingVoters.addAll(voters);
+            endFlush();
+            return voters.size();
+        }
+    }
+}
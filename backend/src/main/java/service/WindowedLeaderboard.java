@@ -0,0 +1,148 @@
+package service;
+
+import models.LeaderboardEntry;
+import models.PointsChangedEvent;
+import models.User;
+import models.VoteRecordedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import repository.UserRepository;
+import utils.TimeBucketRing;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Net points earned per user over rolling windows, from spins, poll payouts and admin adjustments. Bets are
+// subtracted when the vote is recorded, so a payout (stake plus share) only adds the winnings. Each active user
+// has an hourly ring (daily window) and a day ring (weekly/monthly windows); window totals are rolling bucket
+// sums. Users whose rings have fully expired are dropped during the next ranking scan.
+@Service
+public class WindowedLeaderboard {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    public enum Window {
+        DAILY(true, 24),
+        WEEKLY(false, 7),
+        MONTHLY(false, 30);
+
+        private final boolean hourly;
+        private final int buckets;
+
+        Window(boolean hourly, int buckets) {
+            this.hourly = hourly;
+            this.buckets = buckets;
+        }
+
+        public static Window from(String value) {
+            return Window.valueOf(value.trim().toUpperCase());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final int cachedEntries;
+    private final long cacheMs;
+
+    private final Map<Integer, UserWindows> users = new ConcurrentHashMap<>();
+    private final Map<Window, Ranking> rankings = new ConcurrentHashMap<>();
+
+    public WindowedLeaderboard(UserRepository userRepository,
+                               @Value("${leaderboard.windows.cached-entries:100}") int cachedEntries,
+                               @Value("${leaderboard.windows.cache-ms:5000}") long cacheMs) {
+        this.userRepository = userRepository;
+        this.cachedEntries = cachedEntries;
+        this.cacheMs = cacheMs;
+    }
+
+    @EventListener
+    public void onPointsChanged(PointsChangedEvent event) {
+        add(event.userId(), event.delta());
+    }
+
+    @EventListener
+    public void onVoteRecorded(VoteRecordedEvent event) {
+        add(event.userId(), -event.betAmount());
+    }
+
+    private void add(int userId, int delta) {
+        long now = System.currentTimeMillis();
+        users.compute(userId, (id, windows) -> {
+            UserWindows updated = windows != null ? windows : new UserWindows();
+            updated.add(now, delta);
+            return updated;
+        });
+    }
+
+    public List<LeaderboardEntry> top(Window window, int limit) {
+        int size = Math.max(0, Math.min(limit, PointsLeaderboard.MAX_LIMIT));
+        if (size > cachedEntries) {
+            return rank(window, size);
+        }
+
+        long now = System.currentTimeMillis();
+        Ranking ranking = rankings.get(window);
+        if (ranking == null || now - ranking.computedAtMillis() > cacheMs) {
+            ranking = new Ranking(List.copyOf(rank(window, cachedEntries)), now);
+            rankings.put(window, ranking);
+        }
+        return ranking.entries().subList(0, Math.min(size, ranking.entries().size()));
+    }
+
+    public int total(int userId, Window window) {
+        UserWindows windows = users.get(userId);
+        return windows == null ? 0 : windows.sum(System.currentTimeMillis(), window);
+    }
+
+    private List<LeaderboardEntry> rank(Window window, int k) {
+        long now = System.currentTimeMillis();
+        PriorityQueue<int[]> heap = new PriorityQueue<>(
+                Comparator.<int[]>comparingInt(entry -> entry[1]).thenComparingInt(entry -> -entry[0]));
+
+        for (Integer userId : users.keySet()) {
+            users.computeIfPresent(userId, (id, windows) -> {
+                if (windows.isExpired(now)) return null;
+
+                int total = windows.sum(now, window);
+                if (total > 0) {
+                    heap.add(new int[]{id, total});
+                    if (heap.size() > k) heap.poll();
+                }
+                return windows;
+            });
+        }
+
+        List<int[]> top = new ArrayList<>(heap);
+        top.sort(Comparator.<int[]>comparingInt(entry -> -entry[1]).thenComparingInt(entry -> entry[0]));
+
+        Map<Integer, String> names = userRepository.findAllById(top.stream().map(entry -> entry[0]).toList()).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+        return top.stream()
+                .filter(entry -> names.containsKey(entry[0]))
+                .map(entry -> new LeaderboardEntry(entry[0], names.get(entry[0]), entry[1]))
+                .collect(Collectors.toList());
+    }
+
+    private static final class UserWindows {
+
+        private final TimeBucketRing hours = new TimeBucketRing(HOUR_MILLIS, 24);
+        private final TimeBucketRing days = new TimeBucketRing(DAY_MILLIS, 30);
+
+        private synchronized void add(long now, int delta) {
+            hours.add(now, delta);
+            days.add(now, delta);
+        }
+
+        private synchronized int sum(long now, Window window) {
+            return window.hourly ? hours.sum(now, window.buckets) : days.sum(now, window.buckets);
+        }
+
+        private synchronized boolean isExpired(long now) {
+            return days.isExpired(now);
+        }
+    }
+
+    private record Ranking(List<LeaderboardEntry> entries, long computedAtMillis) {}
+}
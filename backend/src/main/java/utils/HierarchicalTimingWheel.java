@@ -0,0 +1,151 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Kafka-style hierarchical timing wheel: each level has wheelSize buckets of `tick` ms, and deadlines past a level's
+// span spill into a coarser overflow level that is cascaded back down whenever the finer level completes a turn.
+// Deadlines are rounded up to the next tick, so a task fires at most one tick late and never early.
+// Cancelled timeouts are dropped lazily when their bucket comes up.
+public class HierarchicalTimingWheel<T> {
+
+    private final Level<T> root;
+    private final List<Timeout<T>> overdue = new ArrayList<>();
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size greater than one");
+        }
+        this.root = new Level<>(tickMs, wheelSize, startMs - startMs % tickMs);
+    }
+
+    public synchronized Timeout<T> schedule(T task, long deadlineMs) {
+        long tick = root.tick;
+        Timeout<T> timeout = new Timeout<>(task, deadlineMs, Math.floorDiv(deadlineMs + tick - 1, tick) * tick);
+        if (!root.add(timeout)) {
+            overdue.add(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    public synchronized List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        for (Timeout<T> timeout : overdue) {
+            collect(timeout, expired);
+        }
+        overdue.clear();
+
+        List<Timeout<T>> due = new ArrayList<>();
+        while (root.currentTime + root.tick <= nowMs) {
+            root.currentTime += root.tick;
+            root.takeCurrentBucket(due);
+
+            for (Timeout<T> timeout : due) {
+                if (!timeout.cancelled && !root.add(timeout)) {
+                    collect(timeout, expired);
+                }
+            }
+            due.clear();
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.cancelled || timeout.fired) return false;
+        timeout.cancelled = true;
+        size--;
+        return true;
+    }
+
+    public synchronized long currentTime() {
+        return root.currentTime;
+    }
+
+    private void collect(Timeout<T> timeout, List<T> expired) {
+        if (!timeout.cancelled && !timeout.fired) {
+            timeout.fired = true;
+            size--;
+            expired.add(timeout.task);
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final T task;
+        private final long deadline;
+        private final long expiration;
+        private boolean cancelled;
+        private boolean fired;
+
+        private Timeout(T task, long deadline, long expiration) {
+            this.task = task;
+            this.deadline = deadline;
+            this.expiration = expiration;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    private static final class Level<T> {
+
+        private final long tick;
+        private final int wheelSize;
+        private final long interval;
+        private final ArrayDeque<Timeout<T>>[] buckets;
+        private long currentTime;
+        private Level<T> overflow;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tick, int wheelSize, long currentTime) {
+            this.tick = tick;
+            this.wheelSize = wheelSize;
+            this.interval = tick * wheelSize;
+            this.currentTime = currentTime;
+            this.buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        private boolean add(Timeout<T> timeout) {
+            long expiration = timeout.expiration;
+            if (expiration < currentTime + tick) {
+                return false;
+            }
+
+            if (expiration < currentTime + interval) {
+                buckets[(int) ((expiration / tick) % wheelSize)].add(timeout);
+            } else {
+                if (overflow == null) {
+                    overflow = new Level<>(interval, wheelSize, currentTime - currentTime % interval);
+                }
+                overflow.add(timeout);
+            }
+            return true;
+        }
+
+        private void takeCurrentBucket(List<Timeout<T>> due) {
+            ArrayDeque<Timeout<T>> bucket = buckets[(int) ((currentTime / tick) % wheelSize)];
+            due.addAll(bucket);
+            bucket.clear();
+
+            if (overflow != null && currentTime % interval == 0) {
+                overflow.currentTime = currentTime;
+                overflow.takeCurrentBucket(due);
+            }
+        }
+    }
+}
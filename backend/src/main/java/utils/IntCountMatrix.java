@@ -0,0 +1,109 @@
+package utils;
+
+import java.util.Arrays;
+
+// Dense counts indexed by (row id, column), stored column-major as int[column][row] so a column scan is one
+// contiguous array walk. Row ids are small non-negative ints (database ids); rows grow on demand.
+// Not thread-safe.
+public class IntCountMatrix {
+
+    private int[][] columns;
+
+    public IntCountMatrix(int columnCount, int initialRows) {
+        this.columns = new int[columnCount][Math.max(16, initialRows)];
+    }
+
+    public int get(int row, int column) {
+        int[] values = columns[column];
+        return row < values.length ? values[row] : 0;
+    }
+
+    public int addTo(int row, int column, int delta) {
+        ensureRow(row);
+        int value = Math.max(0, columns[column][row] + delta);
+        columns[column][row] = value;
+        return value;
+    }
+
+    public int[] row(int row) {
+        int[] values = new int[columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            values[column] = get(row, column);
+        }
+        return values;
+    }
+
+    public void clear() {
+        for (int[] values : columns) {
+            Arrays.fill(values, 0);
+        }
+    }
+
+    // {row ids, counts} of the k largest non-zero counts in column, count desc then row id asc.
+    public int[][] top(int column, int k) {
+        if (k <= 0) return new int[][]{new int[0], new int[0]};
+
+        // Min-heap of packed (count, inverted row id) keys: the root is the weakest of the current top k.
+        long[] heap = new long[k];
+        int size = 0;
+        int[] values = columns[column];
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == 0) continue;
+
+            long key = ((long) values[row] << 32) | (Integer.MAX_VALUE - row);
+            if (size < k) {
+                heap[size] = key;
+                siftUp(heap, size++);
+            } else if (key > heap[0]) {
+                heap[0] = key;
+                siftDown(heap, size);
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted);
+        int[][] result = {new int[size], new int[size]};
+        for (int i = 0; i < size; i++) {
+            long key = sorted[size - 1 - i];
+            result[0][i] = Integer.MAX_VALUE - (int) key;
+            result[1][i] = (int) (key >>> 32);
+        }
+        return result;
+    }
+
+    private void ensureRow(int row) {
+        if (row < columns[0].length) return;
+
+        int capacity = Math.max(row + 1, columns[0].length * 2);
+        for (int column = 0; column < columns.length; column++) {
+            columns[column] = Arrays.copyOf(columns[column], capacity);
+        }
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= heap[index]) return;
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) return;
+            int smallest = left + 1 < size && heap[left + 1] < heap[left] ? left + 1 : left;
+            if (heap[index] <= heap[smallest]) return;
+            swap(heap, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(long[] heap, int a, int b) {
+        long tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
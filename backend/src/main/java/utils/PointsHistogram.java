@@ -0,0 +1,76 @@
+package utils;
+
+// Log-linear histogram over non-negative ints: values below 2^SUB_BITS get their own bucket, and every higher
+// power-of-two range is split into 2^SUB_BITS equal buckets, so a bucket never spans more than 1/32 of its lower
+// bound (864 buckets cover the whole int range).
+//
+// A rank estimate for value v counts every bucket above v's bucket exactly and places v in the middle of its own
+// bucket, so it is off by at most half of that bucket's population (see rankErrorBound). Not thread-safe.
+public class PointsHistogram {
+
+    public static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    public static final int BUCKETS = SUB_BUCKETS + (31 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    public static int bucketOf(int value) {
+        int v = Math.max(0, value);
+        if (v < SUB_BUCKETS) return v;
+
+        int exponent = 31 - Integer.numberOfLeadingZeros(v);
+        int sub = (v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    public static int lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (1 << exponent) | (sub << (exponent - SUB_BITS));
+    }
+
+    public void add(int value) {
+        counts[bucketOf(value)]++;
+        total++;
+    }
+
+    public void remove(int value) {
+        int bucket = bucketOf(value);
+        if (counts[bucket] == 0) return;
+        counts[bucket]--;
+        total--;
+    }
+
+    public void move(int from, int to) {
+        int source = bucketOf(from);
+        int target = bucketOf(to);
+        if (source == target || counts[source] == 0) return;
+        counts[source]--;
+        counts[target]++;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    // Midpoint of the rank interval [above + 1, above + inBucket] for a value present in the histogram.
+    public long estimateRank(int value) {
+        int bucket = bucketOf(value);
+        return countAbove(bucket) + (counts[bucket] + 1) / 2;
+    }
+
+    public long rankErrorBound(int value) {
+        return counts[bucketOf(value)] / 2;
+    }
+
+    private long countAbove(int bucket) {
+        long above = 0;
+        for (int b = bucket + 1; b < BUCKETS; b++) {
+            above += counts[b];
+        }
+        return above;
+    }
+}
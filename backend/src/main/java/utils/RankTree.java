@@ -0,0 +1,188 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Order-statistic treap over (score desc, id asc). Every node keeps its subtree size, so rank, select and
+// windowed reads are O(log n); each id holds exactly one entry and a score change is a remove + insert.
+// Not thread-safe.
+public class RankTree {
+
+    private final Map<Integer, Integer> scores = new HashMap<>();
+    private Node root;
+
+    public int size() {
+        return scores.size();
+    }
+
+    public boolean contains(int id) {
+        return scores.containsKey(id);
+    }
+
+    public int score(int id, int defaultValue) {
+        Integer score = scores.get(id);
+        return score != null ? score : defaultValue;
+    }
+
+    public void put(int id, int score) {
+        Integer previous = scores.put(id, score);
+        if (previous != null) {
+            if (previous == score) return;
+            root = delete(root, previous, id);
+        }
+        root = insert(root, new Node(score, id));
+    }
+
+    public int addTo(int id, int delta) {
+        int score = score(id, 0) + delta;
+        put(id, score);
+        return score;
+    }
+
+    public boolean remove(int id) {
+        Integer previous = scores.remove(id);
+        if (previous == null) return false;
+        root = delete(root, previous, id);
+        return true;
+    }
+
+    // 1-based position of id, or -1 if absent.
+    public int rank(int id) {
+        Integer score = scores.get(id);
+        if (score == null) return -1;
+
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(score, id, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left);
+                if (cmp == 0) break;
+                before++;
+                node = node.right;
+            }
+        }
+        return before + 1;
+    }
+
+    // Ids at 0-based positions [from, from + count), in ranking order.
+    public int[] range(int from, int count) {
+        int start = Math.max(0, from);
+        int end = Math.min(size(), start + Math.max(0, count));
+        if (start >= end) return new int[0];
+
+        int[] ids = new int[end - start];
+        collect(root, start, end, 0, ids);
+        return ids;
+    }
+
+    public int[] top(int k) {
+        return range(0, k);
+    }
+
+    private void collect(Node node, int start, int end, int offset, int[] ids) {
+        if (node == null) return;
+
+        int leftSize = size(node.left);
+        int position = offset + leftSize;
+        if (start < position) {
+            collect(node.left, start, end, offset, ids);
+        }
+        if (position >= start && position < end) {
+            ids[position - start] = node.id;
+        }
+        if (end > position + 1) {
+            collect(node.right, start, end, position + 1, ids);
+        }
+    }
+
+    private static int compare(int score, int id, Node node) {
+        if (score != node.score) return score > node.score ? -1 : 1;
+        return Integer.compare(id, node.id);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) return added;
+
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added.score, added.id);
+            added.left = parts[0];
+            added.right = parts[1];
+            return update(added);
+        }
+        if (compare(added.score, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, int score, int id) {
+        if (node == null) return null;
+
+        int cmp = compare(score, id, node);
+        if (cmp == 0) return merge(node.left, node.right);
+        if (cmp < 0) {
+            node.left = delete(node.left, score, id);
+        } else {
+            node.right = delete(node.right, score, id);
+        }
+        return update(node);
+    }
+
+    // Splits into nodes ordered before (score, id) and nodes ordered after it.
+    private static Node[] split(Node node, int score, int id) {
+        if (node == null) return new Node[2];
+
+        if (compare(score, id, node) > 0) {
+            Node[] parts = split(node.right, score, id);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, score, id);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final int score;
+        private final int id;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(int score, int id) {
+            this.score = score;
+            this.id = id;
+        }
+    }
+}
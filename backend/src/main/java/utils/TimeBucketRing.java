@@ -0,0 +1,57 @@
+package utils;
+
+import java.util.Arrays;
+
+// Fixed ring of time buckets. A slot is tagged with the bucket number it currently holds; writing to a slot whose
+// tag is stale zeroes and re-tags it in place, so expired buckets are recycled and nothing is allocated after
+// construction. Not thread-safe.
+public class TimeBucketRing {
+
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final int[] sums;
+
+    public TimeBucketRing(long bucketMillis, int slots) {
+        this.bucketMillis = bucketMillis;
+        this.bucketIds = new long[slots];
+        this.sums = new int[slots];
+        Arrays.fill(bucketIds, -1);
+    }
+
+    public void add(long nowMillis, int delta) {
+        long bucketId = nowMillis / bucketMillis;
+        int slot = (int) (bucketId % sums.length);
+        if (bucketIds[slot] != bucketId) {
+            bucketIds[slot] = bucketId;
+            sums[slot] = 0;
+        }
+        sums[slot] += delta;
+    }
+
+    // Sum of the latest `buckets` buckets up to and including the one containing nowMillis.
+    public int sum(long nowMillis, int buckets) {
+        long current = nowMillis / bucketMillis;
+        long oldest = current - Math.min(buckets, sums.length) + 1;
+
+        int total = 0;
+        for (int slot = 0; slot < sums.length; slot++) {
+            if (bucketIds[slot] >= oldest && bucketIds[slot] <= current) {
+                total += sums[slot];
+            }
+        }
+        return total;
+    }
+
+    // True when no bucket falls inside the ring's full span ending at nowMillis.
+    public boolean isExpired(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - sums.length + 1;
+        for (long bucketId : bucketIds) {
+            if (bucketId >= oldest) return false;
+        }
+        return true;
+    }
+
+    public int slots() {
+        return sums.length;
+    }
+}
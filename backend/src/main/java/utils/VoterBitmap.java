@@ -0,0 +1,297 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Roaring-style int set: the high 16 bits of each id pick a container, the low 16 bits live either in a
+// sorted char[] (sparse chunks, up to 4096 ids) or in a 65536-bit long[] (dense chunks).
+public class VoterBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+    private int cardinality;
+
+    public VoterBitmap() {
+    }
+
+    public static VoterBitmap of(Iterable<Integer> userIds) {
+        VoterBitmap bitmap = new VoterBitmap();
+        for (Integer userId : userIds) {
+            bitmap.add(userId);
+        }
+        return bitmap;
+    }
+
+    public boolean add(int userId) {
+        char key = (char) (userId >>> 16);
+        char low = (char) userId;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+
+        Container container = containers[index];
+        if (!container.add(low)) {
+            return false;
+        }
+        if (container instanceof ArrayContainer array && array.cardinality > ARRAY_MAX) {
+            containers[index] = array.toBitmap();
+        }
+        cardinality++;
+        return true;
+    }
+
+    public boolean contains(int userId) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (userId >>> 16));
+        return index >= 0 && containers[index].contains((char) userId);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    public long estimatedSizeInBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    public byte[] serialize() {
+        int length = 4;
+        for (int i = 0; i < size; i++) {
+            length += 2 + 1 + 4 + containers[i].serializedSize();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putChar(keys[i]);
+            containers[i].writeTo(buffer);
+        }
+        return buffer.array();
+    }
+
+    public static VoterBitmap deserialize(byte[] data) {
+        VoterBitmap bitmap = new VoterBitmap();
+        if (data == null || data.length == 0) {
+            return bitmap;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int count = buffer.getInt();
+        bitmap.keys = new char[count];
+        bitmap.containers = new Container[count];
+
+        for (int i = 0; i < count; i++) {
+            bitmap.keys[i] = buffer.getChar();
+            byte type = buffer.get();
+            int containerCardinality = buffer.getInt();
+
+            Container container;
+            if (type == BITMAP) {
+                long[] words = new long[BITMAP_WORDS];
+                buffer.asLongBuffer().get(words);
+                buffer.position(buffer.position() + BITMAP_WORDS * 8);
+                container = new BitmapContainer(words, containerCardinality);
+            } else {
+                char[] values = new char[containerCardinality];
+                buffer.asCharBuffer().get(values);
+                buffer.position(buffer.position() + containerCardinality * 2);
+                container = new ArrayContainer(values, containerCardinality);
+            }
+
+            bitmap.containers[i] = container;
+            bitmap.cardinality += containerCardinality;
+        }
+        bitmap.size = count;
+        return bitmap;
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof VoterBitmap other)) return false;
+        return cardinality == other.cardinality && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    private interface Container {
+        boolean add(char value);
+        boolean contains(char value);
+        void forEach(int high, IntConsumer action);
+        long sizeInBytes();
+        int serializedSize();
+        void writeTo(ByteBuffer buffer);
+    }
+
+    private static final class ArrayContainer implements Container {
+
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public boolean add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) return false;
+
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(values.length * 2, ARRAY_MAX + 1));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 16L + 16L + values.length * 2L;
+        }
+
+        @Override
+        public int serializedSize() {
+            return cardinality * 2;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            buffer.put(ARRAY);
+            buffer.putInt(cardinality);
+            for (int i = 0; i < cardinality; i++) {
+                buffer.putChar(values[i]);
+            }
+        }
+
+        private BitmapContainer toBitmap() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public boolean add(char value) {
+            long mask = 1L << value;
+            long word = words[value >>> 6];
+            if ((word & mask) != 0) return false;
+
+            words[value >>> 6] = word | mask;
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 16L + 16L + BITMAP_WORDS * 8L;
+        }
+
+        @Override
+        public int serializedSize() {
+            return BITMAP_WORDS * 8;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            buffer.put(BITMAP);
+            buffer.putInt(cardinality);
+            for (long word : words) {
+                buffer.putLong(word);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package test;
+
+import MainApp.UtcnPollApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import controller.BlogPostController;
+import models.BlogPost;
+import models.PostSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(classes = UtcnPollApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:feed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class BlogFeedBenchmarkTest {
+
+    private static final int POSTS = 50_000;
+    private static final int AUTHORS = 500;
+    private static final int COMMENTS_PER_POST = 2;
+    private static final int LIKES_PER_POST = 3;
+    private static final int BODY_LENGTH = 2_000;
+
+    @Autowired
+    private BlogPostController blogPostController;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareFullListingWithFeedPage() throws Exception {
+        seed();
+
+        // GET /api/posts serializes lazy likes, which needs the open session a web request gets.
+        TransactionTemplate session = new TransactionTemplate(transactionManager);
+        session.setReadOnly(true);
+
+        System.out.printf("%-22s %8s %12s %14s%n", "endpoint", "items", "avg ms", "payload bytes");
+
+        Result full = measure(1, () -> session.execute(status -> serialize(blogPostController.getAllPosts())));
+        Result page = measure(20, () -> serialize(blogPostController.getFeed(null, 20)));
+        report("GET /api/posts", POSTS, full);
+        report("GET /api/posts/feed", 20, page);
+
+        Map<?, ?> first = (Map<?, ?>) blogPostController.getFeed(null, 20).getBody();
+        assertNotNull(first);
+        String cursor = (String) first.get("nextCursor");
+        Result next = measure(20, () -> serialize(blogPostController.getFeed(cursor, 20)));
+        report("GET /api/posts/feed#2", 20, next);
+
+        PostSummary top = (PostSummary) ((List<?>) first.get("items")).get(0);
+        assertEquals(LIKES_PER_POST, top.likeCount());
+        assertEquals(COMMENTS_PER_POST, top.commentCount());
+        assertTrue(top.excerpt().length() <= BlogPost.EXCERPT_LENGTH + 3);
+        assertTrue(page.bytes * 100 < full.bytes, "feed page should be a small fraction of the full listing");
+    }
+
+    private record Result(double avgMs, long bytes) {}
+
+    private Result measure(int runs, Supplier<byte[]> call) {
+        byte[] body = call.get();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            body = call.get();
+        }
+        return new Result((System.nanoTime() - start) / 1e6 / runs, body.length);
+    }
+
+    private void report(String label, int items, Result result) {
+        System.out.printf("%-22s %8d %12.2f %14d%n", label, items, result.avgMs(), result.bytes());
+    }
+
+    private byte[] serialize(ResponseEntity<?> response) {
+        assertEquals(200, response.getStatusCode().value());
+        try {
+            return objectMapper.writeValueAsBytes(response.getBody());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void seed() {
+        List<Object[]> users = new ArrayList<>(AUTHORS);
+        for (int i = 0; i < AUTHORS; i++) {
+            users.add(new Object[]{"Author " + i, "feed-author-" + i + "@utcn.ro", "x", 0, true, "MEMBER"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (name, email, password, points, verified, user_type) VALUES (?, ?, ?, ?, ?, ?)", users);
+        int[] authorIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+
+        String body = "Lorem ipsum dolor sit amet ".repeat(BODY_LENGTH / 27 + 1).substring(0, BODY_LENGTH);
+        String excerpt = BlogPost.excerptOf(body);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> posts = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(new Object[]{authorIds[i % AUTHORS], "Post " + i, body, excerpt,
+                    Timestamp.valueOf(now.minusSeconds(POSTS - i)), LIKES_PER_POST, COMMENTS_PER_POST});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO blog_posts (author_id, title, content, excerpt, created_at, like_count, comment_count) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", posts);
+
+        List<Integer> postIds = jdbcTemplate.queryForList("SELECT id FROM blog_posts ORDER BY id", Integer.class);
+        List<Object[]> comments = new ArrayList<>(POSTS * COMMENTS_PER_POST);
+        List<Object[]> likes = new ArrayList<>(POSTS * LIKES_PER_POST);
+        for (int i = 0; i < postIds.size(); i++) {
+            int postId = postIds.get(i);
+            for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                comments.add(new Object[]{authorIds[(i + c + 1) % AUTHORS], postId, "Comment " + c,
+                        Timestamp.valueOf(now)});
+            }
+            for (int l = 0; l < LIKES_PER_POST; l++) {
+                likes.add(new Object[]{postId, authorIds[(i + l + 7) % AUTHORS]});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (author_id, post_id, comment, created_at) VALUES (?, ?, ?, ?)",
+                comments);
+        jdbcTemplate.batchUpdate("INSERT INTO post_likes (post_id, user_id) VALUES (?, ?)", likes);
+    }
+}
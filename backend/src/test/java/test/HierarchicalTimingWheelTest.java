@@ -0,0 +1,63 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.HierarchicalTimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesTasksInTheirTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 0);
+        wheel.schedule("a", 2_500);
+        wheel.schedule("b", 5_000);
+
+        assertTrue(wheel.advance(2_999).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3_000));
+        assertTrue(wheel.advance(4_999).isEmpty());
+        assertEquals(List.of("b"), wheel.advance(5_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFromOverflowLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 4, 0);
+        long[] deadlines = {3_000, 4_000, 15_000, 17_500, 64_000, 250_000};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 0; now <= 300_000; now += 500) {
+            for (Long deadline : wheel.advance(now)) {
+                assertTrue(now >= deadline && now < deadline + 1_000, "fired " + deadline + " at " + now);
+                fired.add(deadline);
+            }
+        }
+
+        assertEquals(List.of(3_000L, 4_000L, 15_000L, 17_500L, 64_000L, 250_000L), fired);
+    }
+
+    @Test
+    void pastDeadlinesFireOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 10_000);
+        wheel.schedule("late", 5_000);
+
+        assertEquals(List.of("late"), wheel.advance(10_000));
+    }
+
+    @Test
+    void cancelledTasksNeverFire() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("x", 50_000);
+        wheel.schedule("y", 50_000);
+
+        assertTrue(wheel.cancel(timeout));
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(List.of("y"), wheel.advance(60_000));
+    }
+}
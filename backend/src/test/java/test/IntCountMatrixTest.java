@@ -0,0 +1,47 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.IntCountMatrix;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntCountMatrixTest {
+
+    @Test
+    void countsPerColumnAndGrows() {
+        IntCountMatrix matrix = new IntCountMatrix(3, 4);
+        matrix.addTo(2, 0, 5);
+        matrix.addTo(10_000, 2, 1);
+        matrix.addTo(2, 0, -7);
+
+        assertEquals(0, matrix.get(2, 0));
+        assertEquals(1, matrix.get(10_000, 2));
+        assertEquals(0, matrix.get(50_000, 1));
+        assertArrayEquals(new int[]{0, 0, 1}, matrix.row(10_000));
+    }
+
+    @Test
+    void topKMatchesSortedColumn() {
+        Random random = new Random(5);
+        IntCountMatrix matrix = new IntCountMatrix(2, 16);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int row = random.nextInt(5_000);
+            matrix.addTo(row, 1, 1);
+            expected.merge(row, 1, Integer::sum);
+        }
+
+        List<Integer> order = new ArrayList<>(expected.keySet());
+        order.sort(Comparator.<Integer>comparingInt(expected::get).reversed().thenComparingInt(row -> row));
+
+        int[][] top = matrix.top(1, 25);
+        assertEquals(25, top[0].length);
+        for (int i = 0; i < 25; i++) {
+            assertEquals(order.get(i), top[0][i]);
+            assertEquals(expected.get(order.get(i)), top[1][i]);
+        }
+        assertEquals(0, matrix.top(0, 10)[0].length);
+    }
+}
@@ -0,0 +1,44 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.IntIntHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntHashMapTest {
+
+    @Test
+    void putGetAndAddTo() {
+        IntIntHashMap map = new IntIntHashMap();
+
+        map.put(5, 50);
+        map.put(-3, 7);
+        assertEquals(50, map.get(5, 0));
+        assertEquals(7, map.get(-3, 0));
+        assertEquals(-1, map.get(6, -1));
+
+        assertEquals(60, map.addTo(5, 10));
+        assertEquals(4, map.addTo(9, 4));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void growsAndKeepsSortedKeys() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        for (int key = 100_000; key > 0; key -= 3) {
+            map.put(key, key * 2);
+        }
+
+        int[] keys = map.sortedKeys();
+        assertEquals(map.size(), keys.length);
+        for (int i = 1; i < keys.length; i++) {
+            assertTrue(keys[i - 1] < keys[i]);
+        }
+        assertEquals(200_000, map.get(100_000, 0));
+    }
+
+    @Test
+    void rejectsReservedKey() {
+        assertThrows(IllegalArgumentException.class, () -> new IntIntHashMap().put(Integer.MIN_VALUE, 1));
+    }
+}
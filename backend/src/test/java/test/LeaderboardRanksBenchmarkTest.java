@@ -0,0 +1,139 @@
+package test;
+
+import MainApp.UtcnPollApplication;
+import controller.LeaderboardController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import service.PointsRankIndex;
+import service.TierScoreIndex;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(classes = UtcnPollApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:leaderboard;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class LeaderboardRanksBenchmarkTest {
+
+    private static final int USERS = 50_000;
+    private static final int LOOKUPS = 2_000;
+    private static final String[] TIERS = {"BRONZE", "SILVER", "GOLD", "PLATINUM", "DIAMOND", "LEGENDARY"};
+    private static final int RUNS = 3;
+
+    @Autowired
+    private LeaderboardController leaderboardController;
+
+    @Autowired
+    private PointsRankIndex pointsRankIndex;
+
+    @Autowired
+    private TierScoreIndex tierScoreIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareBatchRanksWithPerUserEndpoints() {
+        seed();
+        pointsRankIndex.load();
+        tierScoreIndex.load();
+
+        List<Integer> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users ORDER BY id LIMIT ?", Integer.class, LOOKUPS);
+
+        List<?> batch = (List<?>) leaderboardController.getUserRanks(userIds).getBody();
+        assertNotNull(batch);
+        for (int i = 0; i < userIds.size(); i += 97) {
+            Map<?, ?> ranks = (Map<?, ?>) batch.get(i);
+            assertEquals(leaderboardController.getUserPointsRank(userIds.get(i)).getBody(), ranks.get("pointsRank"));
+            assertEquals(leaderboardController.getUserAchievementsRank(userIds.get(i)).getBody(), ranks.get("achievementsRank"));
+        }
+
+        double perUserMs = measure(() -> {
+            for (int userId : userIds) {
+                assertOk(leaderboardController.getUserPointsRank(userId));
+                assertOk(leaderboardController.getUserAchievementsRank(userId));
+            }
+        });
+        double batchMs = measure(() -> assertOk(leaderboardController.getUserRanks(userIds)));
+
+        System.out.printf("%-8s %-34s %12s%n", "users", "endpoint", "avg ms");
+        System.out.printf("%-8d %-34s %12.2f%n", USERS, LOOKUPS + "x points-rank + achievements-rank", perUserMs);
+        System.out.printf("%-8d %-34s %12.2f%n", USERS, "POST /ranks (" + LOOKUPS + " ids)", batchMs);
+
+        assertTrue(batchMs * 10 < perUserMs, "batch lookup should be at least 10x cheaper than per-user calls");
+    }
+
+    private static void assertOk(ResponseEntity<?> response) {
+        assertEquals(200, response.getStatusCode().value());
+    }
+
+    private static double measure(Runnable call) {
+        call.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / RUNS;
+    }
+
+    private void seed() {
+        Random random = new Random(7);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> achievements = new ArrayList<>();
+        for (int i = 0; i < TIERS.length; i++) {
+            achievements.add(new Object[]{"Bench badge " + i, "Benchmark badge", "MILESTONE", TIERS[i], now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO achievements (name, description, type, tier, created_at, is_active) VALUES (?, ?, ?, ?, ?, true)",
+                achievements);
+        List<Integer> achievementIds = jdbcTemplate.queryForList("SELECT id FROM achievements ORDER BY id", Integer.class);
+
+        List<Object[]> users = new ArrayList<>(USERS);
+        int[] badgeCounts = new int[USERS];
+        int[] tierScores = new int[USERS];
+        for (int i = 0; i < USERS; i++) {
+            for (int tier = 0; tier < TIERS.length; tier++) {
+                if (random.nextInt(4) == 0) {
+                    badgeCounts[i]++;
+                    tierScores[i] += tier + 1;
+                }
+            }
+            users.add(new Object[]{"Bench User " + i, "bench-" + i + "@utcn.ro", "x", random.nextInt(10_000),
+                    badgeCounts[i], tierScores[i]});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (name, email, password, points, achievement_count, tier_score, verified, user_type) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, true, 'USER')", users);
+
+        Random awards = new Random(7);
+        List<Integer> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Integer.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            for (int tier = 0; tier < TIERS.length; tier++) {
+                if (awards.nextInt(4) == 0) {
+                    rows.add(new Object[]{userIds.get(i), achievementIds.get(tier), now});
+                }
+            }
+            awards.nextInt(10_000);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_achievements (user_id, achievement_id, awarded_at) VALUES (?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,82 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.PointsHistogram;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointsHistogramTest {
+
+    @Test
+    void bucketsAreMonotonicAndNarrow() {
+        int previous = -1;
+        for (int value = 0; value < 1_000_000; value++) {
+            int bucket = PointsHistogram.bucketOf(value);
+            assertTrue(bucket >= previous);
+            assertTrue(PointsHistogram.lowerBound(bucket) <= value);
+            previous = bucket;
+        }
+
+        for (int bucket = 1; bucket < PointsHistogram.BUCKETS; bucket++) {
+            int lower = PointsHistogram.lowerBound(bucket - 1);
+            int upper = PointsHistogram.lowerBound(bucket);
+            assertTrue(upper > lower);
+            assertTrue(lower < 32 || (upper - lower) * 32L <= lower);
+            assertEquals(bucket, PointsHistogram.bucketOf(upper));
+        }
+        assertEquals(PointsHistogram.BUCKETS - 1, PointsHistogram.bucketOf(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rankEstimateStaysWithinTheDocumentedBound() {
+        Random random = new Random(11);
+        int[] points = new int[200_000];
+        PointsHistogram histogram = new PointsHistogram();
+        for (int i = 0; i < points.length; i++) {
+            points[i] = (int) Math.min(Integer.MAX_VALUE, Math.abs(random.nextGaussian()) * 5_000 + random.nextInt(50));
+            histogram.add(points[i]);
+        }
+
+        int[] sorted = points.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 0; i < 2_000; i++) {
+            int value = points[random.nextInt(points.length)];
+            long bestRank = points.length - upperIndex(sorted, value);
+            long worstRank = points.length - lowerIndex(sorted, value);
+
+            long estimate = histogram.estimateRank(value);
+            long bound = histogram.rankErrorBound(value);
+            assertTrue(Math.abs(estimate - bestRank) <= bound, "value " + value);
+            assertTrue(Math.abs(estimate - worstRank) <= bound, "value " + value);
+        }
+    }
+
+    @Test
+    void movesKeepTotals() {
+        PointsHistogram histogram = new PointsHistogram();
+        histogram.add(10);
+        histogram.add(500);
+        histogram.move(10, 10_000);
+        histogram.remove(500);
+
+        assertEquals(1, histogram.total());
+        assertEquals(1, histogram.estimateRank(10_000));
+        assertEquals(0, histogram.rankErrorBound(10_000));
+    }
+
+    private static int lowerIndex(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        while (index > 0 && sorted[index - 1] == value) index--;
+        return index;
+    }
+
+    private static int upperIndex(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        while (index < sorted.length - 1 && sorted[index + 1] == value) index++;
+        return index;
+    }
+}
@@ -0,0 +1,178 @@
+package test;
+
+import MainApp.UtcnPollApplication;
+import controller.PollController;
+import models.Poll;
+import models.Vote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import repository.PollRepository;
+import service.PollSummaryProjection;
+import utils.VoterBitmap;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(classes = UtcnPollApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:polls;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class PollListingBenchmarkTest {
+
+    private static final int[] POLL_COUNTS = {10_000, 100_000};
+    private static final int OPTIONS_PER_POLL = 3;
+    private static final int VOTERS_PER_OPTION = 50;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private PollController pollController;
+
+    @Autowired
+    private PollSummaryProjection pollSummaryProjection;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareFullListingWithKeysetPage() {
+        int creatorId = seedCreator();
+        int seeded = 0;
+
+        System.out.printf("%-8s %-22s %12s %12s%n", "polls", "endpoint", "avg ms", "items");
+
+        for (int polls : POLL_COUNTS) {
+            seedPolls(creatorId, seeded, polls - seeded);
+            seeded = polls;
+            System.out.printf("%-8d %-22s %12s%n", polls, "summary rebuild", pollSummaryProjection.rebuildAll().get("elapsedMs"));
+
+            measure(polls, "entity baseline", () -> ResponseEntity.ok(listEntities(VOTERS_PER_OPTION * 37)),
+                    body -> ((List<?>) body).size());
+            measure(polls, "GET /api/polls", () -> pollController.getAllPolls(null), body -> ((List<?>) body).size());
+            measure(polls, "GET /api/polls/page", () -> pollController.getPollPage(null, 20, "all", null),
+                    body -> ((List<?>) ((Map<?, ?>) body).get("items")).size());
+            measure(polls, "GET /api/polls/page#2", () -> {
+                Map<?, ?> first = (Map<?, ?>) pollController.getPollPage(null, 20, "active", null).getBody();
+                assertNotNull(first);
+                return pollController.getPollPage((String) first.get("nextCursor"), 20, "active", null);
+            }, body -> ((List<?>) ((Map<?, ?>) body).get("items")).size());
+        }
+    }
+
+    // The listing as it was before the summary read model: every Poll entity with its options and creator,
+    // and each option's voter bitmap decoded to find the caller's votes.
+    private List<Map<String, Object>> listEntities(int currentUserId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (Poll poll : pollRepository.findAll()) {
+                List<Map<String, Object>> options = new ArrayList<>();
+                List<Integer> voted = new ArrayList<>();
+                for (Vote option : poll.getOptions()) {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("id", option.getId());
+                    data.put("optionText", option.getOptionText());
+                    data.put("totalBets", option.getTotalBets());
+                    data.put("totalVotes", option.getTotalVotes());
+                    options.add(data);
+                    if (option.hasVoted(currentUserId)) voted.add(option.getId());
+                }
+
+                Map<String, Object> pollData = new HashMap<>();
+                pollData.put("id", poll.getId());
+                pollData.put("title", poll.getTitle());
+                pollData.put("description", poll.getDescription());
+                pollData.put("date", poll.getDate());
+                pollData.put("endDate", poll.getEndDate());
+                pollData.put("options", options);
+                pollData.put("expired", poll.isExpired());
+                pollData.put("creatorId", poll.getCreatorId());
+                pollData.put("creatorName", poll.getCreatorName());
+                pollData.put("resolved", poll.getResolvedStatus());
+                pollData.put("userVotedOptionIds", voted);
+                pollData.put("winningOptionId", poll.getWinningOption());
+                items.add(pollData);
+            }
+            return items;
+        });
+    }
+
+    private void measure(int polls, String label, Supplier<ResponseEntity<?>> call,
+                         ToIntFunction<Object> items) {
+        ResponseEntity<?> response = call.get();
+        assertEquals(200, response.getStatusCode().value());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            response = call.get();
+        }
+        double avgMs = (System.nanoTime() - start) / 1e6 / RUNS;
+
+        System.out.printf("%-8d %-22s %12.2f %12d%n", polls, label, avgMs, items.applyAsInt(response.getBody()));
+    }
+
+    private int seedCreator() {
+        jdbcTemplate.update(
+                "INSERT INTO users (name, email, password, points, verified, user_type) VALUES (?, ?, ?, ?, ?, ?)",
+                "Bench Admin", "bench-admin@utcn.ro", "x", 0, true, "ADMIN");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, "bench-admin@utcn.ro");
+    }
+
+    private void seedPolls(int creatorId, int offset, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> polls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = offset + i;
+            LocalDateTime endDate = now.plusMinutes((n % 2 == 0 ? 1 : -1) * (long) (n + 1));
+            polls.add(new Object[]{"Poll " + n, "Benchmark poll " + n, Timestamp.valueOf(now.minusDays(1)),
+                    Timestamp.valueOf(endDate), creatorId, n % 7 == 0});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO polls (title, description, date, end_date, creator_id, resolved, closed) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, false)", polls);
+
+        VoterBitmap voters = new VoterBitmap();
+        for (int userId = 1; userId <= VOTERS_PER_OPTION; userId++) {
+            voters.add(userId * 37);
+        }
+        byte[] voterData = voters.serialize();
+
+        List<Integer> pollIds = jdbcTemplate.queryForList(
+                "SELECT id FROM polls ORDER BY id LIMIT ? OFFSET ?", Integer.class, count, offset);
+        List<Object[]> options = new ArrayList<>(pollIds.size() * OPTIONS_PER_POLL);
+        for (int pollId : pollIds) {
+            for (int option = 0; option < OPTIONS_PER_POLL; option++) {
+                options.add(new Object[]{pollId, "Option " + option, VOTERS_PER_OPTION * 10, VOTERS_PER_OPTION, voterData});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO votes (poll_id, option_text, total_bets, voter_count, voter_bitmap) VALUES (?, ?, ?, ?, ?)",
+                options);
+    }
+}
@@ -0,0 +1,156 @@
+package test;
+
+import MainApp.UtcnPollApplication;
+import models.PollResolutionJob;
+import models.ResultError;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import service.PollResolutionEngine;
+import utils.VoterBitmap;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = UtcnPollApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:resolution;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "polls.resolution.chunk-size=1"
+})
+class PollResolutionEngineTest {
+
+    @Autowired
+    private PollResolutionEngine engine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void resumesFailedJobFromCursorWithoutPayingTwice() throws Exception {
+        Fixture f = seed();
+        // First winner was paid before the job failed: 10 + 10/60 * 100 = 27.
+        jdbcTemplate.update("UPDATE users SET points = 27 WHERE id = ?", f.a1);
+        insertFailedJob(f, f.optionA, 60, 100, f.a1, 1);
+
+        ResultError result = engine.start(f.pollId, f.optionA);
+        assertTrue(result.isSuccess(), result.getMessage());
+        PollResolutionJob job = awaitFinished(f.pollId);
+
+        assertEquals(PollResolutionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getPaidCount());
+        assertEquals(27, points(f.a1));
+        assertEquals(53, points(f.a2));
+        assertEquals(80, points(f.a3));
+        assertEquals(0, points(f.b1));
+        assertTrue(resolved(f.pollId));
+    }
+
+    @Test
+    void recomputesPoolsWhenRestartedWithDifferentWinner() throws Exception {
+        Fixture f = seed();
+        insertFailedJob(f, f.optionA, 60, 100, 0, 0);
+
+        ResultError result = engine.start(f.pollId, f.optionB);
+        assertTrue(result.isSuccess(), result.getMessage());
+        PollResolutionJob job = awaitFinished(f.pollId);
+
+        assertEquals(PollResolutionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(f.optionB, job.getWinningOptionId());
+        assertEquals(100, job.getWinnerPool());
+        assertEquals(60, job.getLoserPool());
+        assertEquals(2, job.getTotalWinners());
+        assertEquals(80, points(f.b1));
+        assertEquals(80, points(f.b2));
+        assertEquals(0, points(f.a1));
+    }
+
+    @Test
+    void rejectsDifferentWinnerOncePaymentsStarted() {
+        Fixture f = seed();
+        insertFailedJob(f, f.optionA, 60, 100, f.a1, 1);
+
+        assertFalse(engine.start(f.pollId, f.optionB).isSuccess());
+        assertEquals(PollResolutionJob.Status.FAILED, engine.getJob(f.pollId).orElseThrow().getStatus());
+    }
+
+    private record Fixture(int pollId, int optionA, int optionB, int a1, int a2, int a3, int b1, int b2) {}
+
+    private Fixture seed() {
+        int creator = user();
+        jdbcTemplate.update(
+                "INSERT INTO polls (title, description, date, end_date, creator_id, resolved, closed) " +
+                        "VALUES (?, ?, ?, ?, ?, false, true)",
+                "Poll", "Resolution test", Timestamp.valueOf(LocalDateTime.now().minusDays(2)),
+                Timestamp.valueOf(LocalDateTime.now().minusDays(1)), creator);
+        int pollId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM polls", Integer.class);
+        int optionA = option(pollId, "A");
+        int optionB = option(pollId, "B");
+
+        int a1 = user(), a2 = user(), a3 = user(), b1 = user(), b2 = user();
+        bet(a1, optionA, pollId, 10);
+        bet(a2, optionA, pollId, 20);
+        bet(a3, optionA, pollId, 30);
+        bet(b1, optionB, pollId, 50);
+        bet(b2, optionB, pollId, 50);
+        return new Fixture(pollId, optionA, optionB, a1, a2, a3, b1, b2);
+    }
+
+    private int user() {
+        String email = UUID.randomUUID() + "@utcn.ro";
+        jdbcTemplate.update(
+                "INSERT INTO users (name, email, password, points, verified, user_type) VALUES (?, ?, ?, 0, true, ?)",
+                "User", email, "x", "MEMBER");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, email);
+    }
+
+    private int option(int pollId, String text) {
+        jdbcTemplate.update(
+                "INSERT INTO votes (poll_id, option_text, total_bets, voter_count, voter_bitmap) VALUES (?, ?, 0, 0, ?)",
+                pollId, text, new VoterBitmap().serialize());
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM votes", Integer.class);
+    }
+
+    private void bet(int userId, int optionId, int pollId, int amount) {
+        jdbcTemplate.update("INSERT INTO user_bets (user_id, vote_id, poll_id, bet_amount) VALUES (?, ?, ?, ?)",
+                userId, optionId, pollId, amount);
+    }
+
+    private void insertFailedJob(Fixture f, int winningOptionId, long winnerPool, long loserPool,
+                                 int lastUserId, int paidCount) {
+        jdbcTemplate.update(
+                "INSERT INTO poll_resolution_jobs (poll_id, winning_option_id, status, winner_pool, loser_pool, " +
+                        "pools_computed, last_user_id, paid_count, total_winners, error_message) " +
+                        "VALUES (?, ?, 'FAILED', ?, ?, true, ?, ?, 3, 'connection reset')",
+                f.pollId(), winningOptionId, winnerPool, loserPool, lastUserId, paidCount);
+    }
+
+    private PollResolutionJob awaitFinished(int pollId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            PollResolutionJob job = engine.getJob(pollId).orElseThrow();
+            if (job.getStatus() == PollResolutionJob.Status.COMPLETED
+                    || job.getStatus() == PollResolutionJob.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        fail("Resolution of poll " + pollId + " did not finish");
+        return null;
+    }
+
+    private int points(int userId) {
+        return jdbcTemplate.queryForObject("SELECT points FROM users WHERE id = ?", Integer.class, userId);
+    }
+
+    private boolean resolved(int pollId) {
+        return jdbcTemplate.queryForObject("SELECT resolved FROM polls WHERE id = ?", Boolean.class, pollId);
+    }
+}
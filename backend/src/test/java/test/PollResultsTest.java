@@ -0,0 +1,32 @@
+package test;
+
+import models.PollResults;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollResultsTest {
+
+    @Test
+    void voteProducesNewVersionAndPercentages() {
+        PollResults results = new PollResults(1, new int[]{10, 11}, new String[]{"Yes", "No"}, new int[]{1, 3}, 5);
+        assertEquals(25.0, results.getPercentages().get("Yes"));
+        assertEquals(75.0, results.getPercentages().get("No"));
+
+        PollResults next = results.withVote(10, 6);
+        assertEquals(6, next.getVersion());
+        assertEquals(5, next.getTotalVotes());
+        assertEquals(40.0, next.getPercentages().get("Yes"));
+        assertEquals(25.0, results.getPercentages().get("Yes"));
+        assertArrayEquals(new int[]{2, 3}, next.getVotes());
+        assertArrayEquals(new int[]{1, 3}, results.getVotes());
+    }
+
+    @Test
+    void unknownOptionAndEmptyPoll() {
+        PollResults results = new PollResults(1, new int[]{10}, new String[]{"Yes"}, new int[]{0}, 1);
+        assertTrue(results.getPercentages().isEmpty());
+        assertSame(results, results.withVote(99, 2));
+        assertArrayEquals(new int[]{0}, results.getVotes());
+    }
+}
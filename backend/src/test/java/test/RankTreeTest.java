@@ -0,0 +1,74 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.RankTree;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankTreeTest {
+
+    @Test
+    void ranksByScoreDescThenId() {
+        RankTree tree = new RankTree();
+        tree.put(3, 50);
+        tree.put(1, 80);
+        tree.put(2, 50);
+        tree.put(4, 10);
+
+        assertEquals(1, tree.rank(1));
+        assertEquals(2, tree.rank(2));
+        assertEquals(3, tree.rank(3));
+        assertEquals(4, tree.rank(4));
+        assertEquals(-1, tree.rank(9));
+        assertArrayEquals(new int[]{1, 2}, tree.top(2));
+        assertArrayEquals(new int[]{3, 4}, tree.range(2, 10));
+        assertArrayEquals(new int[0], tree.range(4, 3));
+    }
+
+    @Test
+    void scoreChangesMoveTheEntry() {
+        RankTree tree = new RankTree();
+        tree.put(1, 10);
+        tree.put(2, 20);
+
+        assertEquals(30, tree.addTo(1, 20));
+        assertEquals(1, tree.rank(1));
+        assertEquals(2, tree.size());
+
+        assertTrue(tree.remove(1));
+        assertFalse(tree.remove(1));
+        assertEquals(1, tree.rank(2));
+        assertArrayEquals(new int[]{2}, tree.top(5));
+    }
+
+    @Test
+    void matchesSortedOrderUnderRandomUpdates() {
+        Random random = new Random(42);
+        RankTree tree = new RankTree();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(2_000);
+            if (random.nextInt(10) == 0) {
+                assertEquals(expected.remove(id) != null, tree.remove(id));
+            } else {
+                int score = random.nextInt(500);
+                tree.put(id, score);
+                expected.put(id, score);
+            }
+        }
+
+        List<Integer> order = new ArrayList<>(expected.keySet());
+        order.sort(Comparator.<Integer>comparingInt(expected::get).reversed().thenComparingInt(id -> id));
+
+        assertEquals(order.size(), tree.size());
+        int[] all = tree.range(0, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(order.get(i), all[i]);
+            assertEquals(i + 1, tree.rank(order.get(i)));
+        }
+        assertArrayEquals(Arrays.copyOfRange(all, 100, 150), tree.range(100, 50));
+    }
+}
@@ -0,0 +1,49 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.TimeBucketRing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBucketRingTest {
+
+    @Test
+    void sumsTheLatestBuckets() {
+        TimeBucketRing ring = new TimeBucketRing(1000, 5);
+        ring.add(0, 1);
+        ring.add(1_500, 2);
+        ring.add(2_100, 3);
+        ring.add(2_900, 4);
+
+        assertEquals(7, ring.sum(2_999, 1));
+        assertEquals(9, ring.sum(2_999, 2));
+        assertEquals(10, ring.sum(2_999, 5));
+        assertEquals(9, ring.sum(5_000, 5));
+        assertEquals(0, ring.sum(10_000, 5));
+    }
+
+    @Test
+    void recyclesExpiredSlots() {
+        TimeBucketRing ring = new TimeBucketRing(1000, 3);
+        ring.add(0, 10);
+        ring.add(1_000, 20);
+
+        ring.add(3_000, 5);
+        assertEquals(25, ring.sum(3_000, 3));
+
+        ring.add(6_000, 1);
+        assertEquals(1, ring.sum(6_000, 3));
+        assertFalse(ring.isExpired(8_999));
+        assertTrue(ring.isExpired(9_000));
+    }
+
+    @Test
+    void windowLongerThanRingIsClamped() {
+        TimeBucketRing ring = new TimeBucketRing(1000, 2);
+        ring.add(0, 1);
+        ring.add(1_000, 2);
+        ring.add(2_000, 4);
+
+        assertEquals(6, ring.sum(2_000, 10));
+    }
+}
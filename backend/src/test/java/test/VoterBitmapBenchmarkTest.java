@@ -0,0 +1,102 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import utils.VoterBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class VoterBitmapBenchmarkTest {
+
+    private static final int LOOKUPS = 200_000;
+    private static final int[] VOTER_COUNTS = {1_000, 100_000, 1_000_000};
+
+    @Test
+    void compareMemoryAndLookupTime() {
+        System.out.printf("%-10s %-10s %14s %14s %12s%n", "voters", "structure", "est. heap", "stored bytes", "ns/lookup");
+
+        for (int voters : VOTER_COUNTS) {
+            int[] userIds = userIds(voters);
+            int[] probes = probes(userIds);
+
+            List<Integer> list = measure(voters, "List", () -> {
+                List<Integer> values = new ArrayList<>();
+                for (int userId : userIds) values.add(userId);
+                return values;
+            }, (long) voters * 4);
+            lookup(list::contains, probes, voters >= 100_000 ? 500 : 20_000);
+
+            VoterBitmap bitmap = measure(voters, "Bitmap", () -> {
+                VoterBitmap values = new VoterBitmap();
+                for (int userId : userIds) values.add(userId);
+                return values;
+            }, -1);
+            lookup(bitmap::contains, probes, probes.length);
+
+            assertTrue(bitmap.serialize().length < (long) voters * 4);
+        }
+    }
+
+    private int[] userIds(int voters) {
+        Random random = new Random(voters);
+        int[] userIds = new int[voters];
+        int next = 1;
+        for (int i = 0; i < voters; i++) {
+            next += 1 + random.nextInt(3);
+            userIds[i] = next;
+        }
+        return userIds;
+    }
+
+    private int[] probes(int[] userIds) {
+        Random random = new Random(7);
+        int[] probes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = random.nextBoolean()
+                    ? userIds[random.nextInt(userIds.length)]
+                    : random.nextInt(userIds[userIds.length - 1]);
+        }
+        return probes;
+    }
+
+    private <T> T measure(int voters, String name, Supplier<T> factory, long storedBytes) {
+        T value = factory.get();
+
+        long heap;
+        long stored;
+        if (value instanceof VoterBitmap bitmap) {
+            heap = bitmap.estimatedSizeInBytes();
+            stored = bitmap.serialize().length;
+        } else {
+            // ArrayList backing array (compressed oops) plus one boxed Integer per voter
+            heap = 40L + voters * 4L + voters * 16L;
+            stored = storedBytes;
+        }
+
+        System.out.printf("%-10d %-10s %14d %14d", voters, name, heap, stored);
+        return value;
+    }
+
+    private void lookup(IntPredicate contains, int[] probes, int count) {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (contains.test(probes[i])) hits++;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (contains.test(probes[i])) hits++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf(" %12.1f%n", (double) elapsed / count);
+        assertTrue(hits > 0);
+    }
+}
@@ -0,0 +1,76 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import utils.VoterBitmap;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoterBitmapTest {
+
+    @Test
+    void addAndContains() {
+        VoterBitmap bitmap = new VoterBitmap();
+
+        assertTrue(bitmap.add(7));
+        assertTrue(bitmap.add(70_000));
+        assertFalse(bitmap.add(7));
+
+        assertTrue(bitmap.contains(7));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(8));
+        assertEquals(2, bitmap.cardinality());
+    }
+
+    @Test
+    void denseChunkSwitchesToBitmapContainer() {
+        VoterBitmap bitmap = new VoterBitmap();
+        for (int userId = 0; userId < 10_000; userId++) {
+            bitmap.add(userId * 2);
+        }
+
+        assertEquals(10_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(19_998));
+        assertFalse(bitmap.contains(19_999));
+        assertTrue(bitmap.estimatedSizeInBytes() < 10_000 * 2);
+    }
+
+    @Test
+    void iteratesInAscendingOrder() {
+        Random random = new Random(42);
+        TreeSet<Integer> expected = new TreeSet<>();
+        VoterBitmap bitmap = new VoterBitmap();
+
+        for (int i = 0; i < 50_000; i++) {
+            int userId = random.nextInt(2_000_000);
+            expected.add(userId);
+            bitmap.add(userId);
+        }
+
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), bitmap.toArray());
+    }
+
+    @Test
+    void serializationRoundTrip() {
+        VoterBitmap bitmap = VoterBitmap.of(List.of(1, 5, 65_536, 131_071));
+        for (int userId = 200_000; userId < 210_000; userId++) {
+            bitmap.add(userId);
+        }
+
+        VoterBitmap copy = VoterBitmap.deserialize(bitmap.serialize());
+
+        assertEquals(bitmap, copy);
+        assertEquals(bitmap.cardinality(), copy.cardinality());
+        assertTrue(copy.contains(131_071));
+        assertTrue(copy.add(3));
+    }
+
+    @Test
+    void emptyDataDeserializesToEmptyBitmap() {
+        assertTrue(VoterBitmap.deserialize(null).isEmpty());
+        assertTrue(VoterBitmap.deserialize(new byte[0]).isEmpty());
+    }
+}